@@ -34,28 +34,48 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 
 import main.java.loader.Loader;
+import main.java.loader.Snapshot;
 import main.java.search.BinarySearch;
+import main.java.search.BloomFilteredSearch;
+import main.java.search.DefinitionIndex;
 import main.java.search.HashSearch;
 import main.java.search.LinearSearch;
+import main.java.search.RadixTree;
+import main.java.search.Search;
 import main.java.utils.ArrayList;
-import main.java.utils.HashTable;
+import main.java.utils.BloomFilter;
+import main.java.utils.LruCache;
+import main.java.utils.OffHeapStringTable;
+import main.java.utils.ReadOnlySymbolTable;
 import main.java.utils.analysis.ExecutionTimeFormatter;
 import main.java.utils.features.WordSuggester;
 
 public class DictionaryApp extends JFrame {
-  private HashTable<String, String> hashTable;
+  private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+  private static final int DEFINITION_CACHE_SIZE = 1024;
+  private static final int MAX_SUGGESTIONS = 5;
+  private static final int SUGGESTION_DISTANCE = 2;
+  private static final int MAX_DEFINITION_RESULTS = 20;
+  private static final int DEFINITION_PREVIEW_LENGTH = 80;
+  private static final String DEFINITION_SEARCH_HINT =
+      "Finds words whose definitions contain every term; put OR between terms to match any";
+
+  private ReadOnlySymbolTable<String, String> hashTable;
   private String[] dictionaryKeys;
   private ExecutionTimeFormatter timeFormatter;
-  private BinarySearch<String> binarySearch;
-  private LinearSearch<String> linearSearch;
+  private Search<String> binarySearch;
+  private Search<String> linearSearch;
   private HashSearch<String> hashSearch;
+  private BloomFilter bloomFilter;
   private WordSuggester wordSuggester;
+  private DefinitionIndex definitionIndex;
+  private final LruCache<String, String> definitionCache = new LruCache<>(DEFINITION_CACHE_SIZE);
 
   // Custom fonts
   private Font geistMonoBold;
 
   // --- Components ---
-  private JToggleButton btnLinear, btnBinary, btnHash;
+  private JToggleButton btnLinear, btnBinary, btnHash, btnDefinition;
   private ButtonGroup searchGroup;
   private JTextField txtSearch;
   private JButton btnSearchAction;
@@ -107,27 +127,40 @@ public class DictionaryApp extends JFrame {
       // Initialize time formatter
       timeFormatter = new ExecutionTimeFormatter(4);
 
-      // Initialize search algorithms
-      binarySearch = new BinarySearch<>();
-      linearSearch = new LinearSearch<>();
-
-      // Load dictionary into HashTable
-      Loader<String, String> loader = new Loader<>("DictionarySearch/data/dict.csv");
-      hashTable = loader.load();
+      // Load dictionary from its binary snapshot, rebuilding it from the CSV
+      // when the CSV is newer. Definitions stay off-heap during a rebuild and
+      // are memory-mapped afterwards, so they are only decoded when shown.
+      Loader<String, String> loader = new Loader<>("DictionarySearch/data/dict.csv", new OffHeapStringTable());
+      // A rebuild indexes the definitions as it parses them; when the
+      // snapshot is served as is, the index is built in the background
+      definitionIndex = new DefinitionIndex();
+      loader.setRecordListener(definitionIndex::add);
+      Snapshot snapshot = loader.loadSnapshot("DictionarySearch/data/dict.snapshot");
+      hashTable = snapshot;
+      if (definitionIndex.size() == 0) {
+        definitionIndex = null;
+        buildDefinitionIndexInBackground();
+      }
 
-      // Initialize hash search
-      hashSearch = new HashSearch<>(hashTable);
+      // Every search mode asks the Bloom filter first, so misses (typos)
+      // return without scanning the keys or walking a hash chain
+      bloomFilter = new BloomFilter(hashTable, BLOOM_FALSE_POSITIVE_RATE);
+      binarySearch = new BloomFilteredSearch<>(new BinarySearch<String>(), bloomFilter);
+      linearSearch = new BloomFilteredSearch<>(new LinearSearch<String>(), bloomFilter);
+      hashSearch = new HashSearch<>(hashTable, bloomFilter);
 
-      // Initialize word suggester
-      wordSuggester = new WordSuggester(hashTable);
+      // Keys are stored sorted in the snapshot, ready for binary search
+      dictionaryKeys = snapshot.getSortedKeys();
 
-      // Get all keys from HashTable and store in String[] array
-      dictionaryKeys = hashTable.getKeys();
+      // Initialize word suggester with a radix tree for prefix completions
+      wordSuggester = new WordSuggester(hashTable, new RadixTree(dictionaryKeys));
 
-      // Sort the keys array for binary search
-      binarySearch.sort(dictionaryKeys, 0, dictionaryKeys.length - 1);
+      // Definitions cached from a previous load may be stale
+      definitionCache.clear();
 
       System.out.println("Dictionary loaded successfully with " + dictionaryKeys.length + " words");
+      System.out.println("Bloom filter: " + bloomFilter.getBitCount() + " bits, "
+          + bloomFilter.getHashCount() + " hashes per word");
     } catch (Exception e) {
       JOptionPane.showMessageDialog(this,
           "Error loading dictionary: " + e.getMessage(),
@@ -137,11 +170,29 @@ public class DictionaryApp extends JFrame {
     }
   }
 
+  // Reads every definition from the snapshot on its own thread, so the event
+  // thread never blocks on it; the index is published on the event thread.
+  private void buildDefinitionIndexInBackground() {
+    ReadOnlySymbolTable<String, String> dictionary = hashTable;
+    Thread builder = new Thread(() -> {
+      DefinitionIndex index = new DefinitionIndex(dictionary);
+      SwingUtilities.invokeLater(() -> {
+        definitionIndex = index;
+        if (btnDefinition != null) {
+          btnDefinition.setEnabled(true);
+          btnDefinition.setToolTipText(DEFINITION_SEARCH_HINT);
+        }
+      });
+    }, "definition-index");
+    builder.setDaemon(true);
+    builder.start();
+  }
+
   private void initializeUI() {
     // Window Settings
     setTitle("Interactive Dictionary");
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-    setSize(850, 750);
+    setSize(1000, 750);
     setLocationRelativeTo(null);
     setLayout(new BorderLayout());
     getContentPane().setBackground(Color.WHITE);
@@ -185,15 +236,25 @@ public class DictionaryApp extends JFrame {
     btnLinear = createToggleBtn("Linear Search");
     btnBinary = createToggleBtn("Binary Search");
     btnHash = createToggleBtn("Hash-Based Search");
+    btnDefinition = createToggleBtn("Definition Search");
+    btnDefinition.setToolTipText(DEFINITION_SEARCH_HINT);
 
     // Add to Group (One selection only)
     searchGroup.add(btnLinear);
     searchGroup.add(btnBinary);
     searchGroup.add(btnHash);
+    searchGroup.add(btnDefinition);
 
     pnlSearchTypes.add(btnLinear);
     pnlSearchTypes.add(btnBinary);
     pnlSearchTypes.add(btnHash);
+    pnlSearchTypes.add(btnDefinition);
+
+    // Definition Search waits for a background index build on warm starts
+    if (definitionIndex == null) {
+      btnDefinition.setEnabled(false);
+      btnDefinition.setToolTipText("Indexing definitions...");
+    }
 
     // Hash is selected by default
     btnHash.setSelected(true);
@@ -352,6 +413,7 @@ public class DictionaryApp extends JFrame {
     btnLinear.addActionListener(toggleListener);
     btnBinary.addActionListener(toggleListener);
     btnHash.addActionListener(toggleListener);
+    btnDefinition.addActionListener(toggleListener);
 
     // SEARCH BUTTON LOGIC
     btnSearchAction.addActionListener(new ActionListener() {
@@ -383,6 +445,7 @@ public class DictionaryApp extends JFrame {
     updateSingleBtnColor(btnLinear);
     updateSingleBtnColor(btnBinary);
     updateSingleBtnColor(btnHash);
+    updateSingleBtnColor(btnDefinition);
   }
 
   private void updateSingleBtnColor(JToggleButton btn) {
@@ -410,13 +473,28 @@ public class DictionaryApp extends JFrame {
     // Convert to lowercase for consistency
     searchWord = searchWord.toLowerCase();
 
+    if (btnDefinition.isSelected()) {
+      performDefinitionSearch(searchWord);
+      return;
+    }
+
     String defResult = "";
     long startTime, endTime;
     double executionTimeMillis;
     boolean wordFound = false;
 
+    // Repeated words are answered from the cache without searching
+    String cachedDefinition = definitionCache.get(searchWord);
+    boolean fromCache = cachedDefinition != null;
+
     // Which Search Method is Selected
-    if (btnLinear.isSelected()) {
+    if (fromCache) {
+      startTime = System.nanoTime();
+      defResult = cachedDefinition;
+      endTime = System.nanoTime();
+      wordFound = true;
+
+    } else if (btnLinear.isSelected()) {
       startTime = System.nanoTime();
       int foundIndex = linearSearch.search(dictionaryKeys, searchWord);
       endTime = System.nanoTime();
@@ -456,9 +534,16 @@ public class DictionaryApp extends JFrame {
       return;
     }
 
+    if (wordFound && !fromCache) {
+      definitionCache.put(searchWord, defResult);
+    }
+
     // Calculate execution time
     executionTimeMillis = (endTime - startTime) / 1_000_000.0;
     String formattedTime = timeFormatter.formatMilliseconds(executionTimeMillis);
+    if (fromCache) {
+      formattedTime += " (cached)";
+    }
 
     // Update Interface
     lblResultWord.setText(searchWord.toUpperCase());
@@ -480,14 +565,67 @@ public class DictionaryApp extends JFrame {
     repaint();
   }
 
+  // Lists the words whose definitions contain the query terms, ranked by
+  // BM25. "a OR b" (capital OR) matches either term, otherwise every term
+  // must appear.
+  private void performDefinitionSearch(String query) {
+    if (definitionIndex == null) {
+      JOptionPane.showMessageDialog(this, "Definitions are still being indexed.");
+      return;
+    }
+
+    long startTime = System.nanoTime();
+    ArrayList<String> matches = definitionIndex.search(query, MAX_DEFINITION_RESULTS);
+    long endTime = System.nanoTime();
+
+    StringBuilder results = new StringBuilder();
+    for (int i = 0; i < matches.size(); i++) {
+      String word = matches.get(i);
+      String definition = hashTable.get(word);
+      if (definition.length() > DEFINITION_PREVIEW_LENGTH) {
+        definition = definition.substring(0, DEFINITION_PREVIEW_LENGTH) + "...";
+      }
+      results.append(i + 1).append(". ").append(word).append(" - ").append(definition).append('\n');
+    }
+    if (matches.size() == 0) {
+      results.append("No definitions match.");
+    }
+
+    lblResultWord.setText(query.toUpperCase());
+    txtDefinition.setText(results.toString());
+    txtDefinition.setCaretPosition(0);
+    lblExecutionTime.setText(timeFormatter.formatMilliseconds((endTime - startTime) / 1_000_000.0));
+    resultPanel.setVisible(true);
+    suggestionsPanel.setVisible(false);
+
+    revalidate();
+    repaint();
+  }
+
   private void displaySuggestions(String searchWord) {
-    ArrayList<String> suggestions = wordSuggester.suggest(searchWord);
+    ArrayList<String> suggestions = new ArrayList<>();
+    // Spelling matches and prefix completions from the radix tree take turns,
+    // so a partly typed word and a typo both get their best candidates in.
+    ArrayList<String> ranked = wordSuggester.suggestRanked(searchWord, MAX_SUGGESTIONS, SUGGESTION_DISTANCE);
+    ArrayList<String> completions = wordSuggester.complete(searchWord, MAX_SUGGESTIONS);
+    for (int i = 0; i < MAX_SUGGESTIONS && suggestions.size() < MAX_SUGGESTIONS; i++) {
+      if (i < ranked.size()) {
+        addSuggestion(suggestions, ranked.get(i));
+      }
+      if (i < completions.size()) {
+        addSuggestion(suggestions, completions.get(i));
+      }
+    }
+    // Sound-alike words fill the slots left over.
+    ArrayList<String> soundAlike = wordSuggester.suggestSoundAlike(searchWord, MAX_SUGGESTIONS);
+    for (int i = 0; i < soundAlike.size(); i++) {
+      addSuggestion(suggestions, soundAlike.get(i));
+    }
 
     suggestionsListPanel.removeAll();
 
     if (suggestions.size() > 0) {
-      // Limit to 5 suggestions
-      int maxSuggestions = Math.min(5, suggestions.size());
+      int maxSuggestions = suggestions.size();
 
       for (int i = 0; i < maxSuggestions; i++) {
         String suggestion = suggestions.get(i);
@@ -514,6 +652,22 @@ public class DictionaryApp extends JFrame {
     suggestionsListPanel.repaint();
   }
 
+  // Adds word unless it is already listed or the list is full.
+  private static void addSuggestion(ArrayList<String> suggestions, String word) {
+    if (suggestions.size() < MAX_SUGGESTIONS && !contains(suggestions, word)) {
+      suggestions.add(word);
+    }
+  }
+
+  private static boolean contains(ArrayList<String> list, String word) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i).equals(word)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private JPanel createSuggestionPanel(String word) {
     JPanel panel = new JPanel(new BorderLayout());
     panel.setBackground(COLOR_SUGGESTION_BG);
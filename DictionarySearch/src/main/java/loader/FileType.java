@@ -0,0 +1,6 @@
+package main.java.loader;
+
+enum FileType {
+  TXT,
+  CSV
+}
@@ -5,28 +5,54 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import main.java.search.StringSorter;
 import main.java.utils.Entry;
 import main.java.utils.HashTable;
-
-enum FileType {
-  TXT,
-  CSV
-}
+import main.java.utils.OffHeapStringTable;
+import main.java.utils.StringHashTable;
+import main.java.utils.SymbolTable;
 
 public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>> {
   private final String filePath;
   private final FileType fileType;
   private final Character delimiter = ',';
-  private HashTable<Key, Value> hashTable;
+  private static final long MIN_PARALLEL_RANGE = 1L << 20;
+  private static final long WINDOW_SIZE = 1L << 30;
+  private SymbolTable<Key, Value> hashTable;
+  private int avoidedResizes;
+  private BiConsumer<? super Key, ? super Value> recordListener;
 
   public Loader(String filePath) {
+    this(filePath, new HashTable<>());
+  }
+
+  public Loader(String filePath, SymbolTable<Key, Value> hashTable) {
     this.filePath = filePath;
     this.fileType = determineFileType(filePath);
-    this.hashTable = new HashTable<>();
+    this.hashTable = hashTable;
   }
 
-  public HashTable<Key, Value> load() throws FileNotFoundException, IOException {
+  // Called with every record as it is loaded, e.g. to build an index over the
+  // values in the same pass. Calls happen on the loading thread, in file order
+  // for the sequential loaders, where a duplicate key is reported again with
+  // its new value. loadParallel() reports each entry of the merged table once,
+  // after the merge, so duplicates across parts are seen with their final
+  // value only.
+  public void setRecordListener(BiConsumer<? super Key, ? super Value> recordListener) {
+    this.recordListener = recordListener;
+  }
+
+  public SymbolTable<Key, Value> load() throws FileNotFoundException, IOException {
     switch (this.fileType) {
       case TXT:
         return loadTxt();
@@ -37,7 +63,30 @@ public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>
     }
   }
 
-  public HashTable<Key, Value> loadTxt() throws FileNotFoundException, IOException {
+  // Serves the dictionary from a binary snapshot, rebuilding the snapshot from
+  // the source file first when it is missing, older than the source, or
+  // unreadable (e.g. written by another format version).
+  @SuppressWarnings("unchecked")
+  public Snapshot loadSnapshot(String snapshotPath) throws IOException {
+    File source = new File(this.filePath);
+    File snapshotFile = new File(snapshotPath);
+    if (snapshotFile.isFile() && snapshotFile.lastModified() >= source.lastModified()) {
+      try {
+        return new SnapshotReader(snapshotPath).read();
+      } catch (IOException e) {
+        // Fall through and rebuild it.
+      }
+    }
+
+    SymbolTable<String, String> dictionary = (SymbolTable<String, String>) loadParallel();
+    String[] sortedKeys = dictionary.getKeys();
+    new StringSorter(ForkJoinPool.commonPool()).sort(sortedKeys);
+    new SnapshotWriter(snapshotPath).write(dictionary, sortedKeys);
+    return new SnapshotReader(snapshotPath).read();
+  }
+
+  public SymbolTable<Key, Value> loadTxt() throws FileNotFoundException, IOException {
+    presize();
     File file = new File(this.filePath);
 
     try (BufferedReader br = new BufferedReader(new FileReader(file))) {
@@ -47,8 +96,8 @@ public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>
         if (!line.isEmpty()) {
           @SuppressWarnings("unchecked")
           Key key = (Key) line;
-          Entry<Key, Value> entry = new Entry<>(key, null);
-          this.hashTable.put(entry);
+          this.hashTable.put(key, null);
+          notifyListener(key, null);
         }
       }
     }
@@ -56,7 +105,8 @@ public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>
     return this.hashTable;
   }
 
-  public HashTable<Key, Value> loadCsv() throws IOException {
+  public SymbolTable<Key, Value> loadCsv() throws IOException {
+    presize();
     try (FileReader reader = new FileReader(this.filePath)) {
       int currentChar;
       boolean insideQuotes = false;
@@ -106,6 +156,159 @@ public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>
     return this.hashTable;
   }
 
+  // Same records as loadCsv(), parsed from a memory-mapped file at byte level
+  // instead of one FileReader.read() call per character.
+  @SuppressWarnings("unchecked")
+  public SymbolTable<Key, Value> loadCsvMapped() throws IOException {
+    presize();
+    try (FileChannel channel = FileChannel.open(Paths.get(this.filePath), StandardOpenOption.READ)) {
+      RecordReader reader = new RecordReader(channel, FileType.CSV, this.delimiter, 0, channel.size(), true);
+      while (reader.next()) {
+        Key key = (Key) reader.getKey();
+        Value value = (Value) reader.getValue();
+        this.hashTable.put(key, value);
+        notifyListener(key, value);
+      }
+    }
+
+    return this.hashTable;
+  }
+
+  public SymbolTable<Key, Value> loadParallel() throws IOException {
+    return loadParallel(Runtime.getRuntime().availableProcessors());
+  }
+
+  // Splits the file into byte ranges aligned to record boundaries, parses each
+  // range on its own thread into a partial table, then merges the partials in
+  // file order so later duplicates still overwrite earlier ones.
+  public SymbolTable<Key, Value> loadParallel(int threads) throws IOException {
+    int expectedRecords = presize();
+    try (FileChannel channel = FileChannel.open(Paths.get(this.filePath), StandardOpenOption.READ)) {
+      long size = channel.size();
+      int parts = (int) Math.max(1, Math.min(threads, size / MIN_PARALLEL_RANGE));
+      long[] bounds = new RecordSplitter(channel, this.fileType).split(parts);
+
+      @SuppressWarnings("unchecked")
+      SymbolTable<Key, Value>[] partials = (SymbolTable<Key, Value>[]) new SymbolTable<?, ?>[parts];
+      IOException[] failures = new IOException[parts];
+      Thread[] workers = new Thread[parts];
+
+      for (int i = 0; i < parts; i++) {
+        final int part = i;
+        partials[part] = createPartialTable();
+        partials[part].reserve(expectedRecords / parts + 1);
+        workers[part] = new Thread(() -> {
+          try {
+            loadRange(channel, bounds[part], bounds[part + 1], part == 0, partials[part]);
+          } catch (IOException e) {
+            failures[part] = e;
+          }
+        });
+        workers[part].start();
+      }
+
+      for (int i = 0; i < parts; i++) {
+        RecordSplitter.join(workers[i]);
+        if (failures[i] != null) {
+          throw failures[i];
+        }
+        this.hashTable.putAll(partials[i]);
+        partials[i] = null;
+      }
+    }
+    if (this.recordListener != null) {
+      this.hashTable.forEachEntry(this.recordListener);
+    }
+
+    return this.hashTable;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void loadRange(FileChannel channel, long start, long end, boolean isFirstRange,
+      SymbolTable<Key, Value> partial) throws IOException {
+    RecordReader reader = new RecordReader(channel, this.fileType, this.delimiter, start, end, isFirstRange);
+    while (reader.next()) {
+      partial.put((Key) reader.getKey(), (Value) reader.getValue());
+    }
+  }
+
+  // Partials use the same table type and hash function as the target, so the
+  // final putAll() can reuse their cached hashes.
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private SymbolTable<Key, Value> createPartialTable() {
+    if (this.hashTable instanceof StringHashTable) {
+      return (SymbolTable<Key, Value>) new StringHashTable(((StringHashTable) this.hashTable).getHashFunction());
+    }
+    if (this.hashTable instanceof OffHeapStringTable) {
+      return (SymbolTable<Key, Value>) new OffHeapStringTable(((OffHeapStringTable) this.hashTable).getHashFunction());
+    }
+    if (this.hashTable instanceof HashTable) {
+      return new HashTable<>(((HashTable<Key, Value>) this.hashTable).getHashFunction());
+    }
+    return new HashTable<>();
+  }
+
+  // Streams the parsed records without building a table. The stream holds the
+  // file open, so close it (e.g. with try-with-resources) when done.
+  public Stream<Entry<Key, Value>> stream() throws IOException {
+    return stream(false);
+  }
+
+  // Like stream(), but the file is split at record boundaries so the records
+  // can be parsed on several threads.
+  public Stream<Entry<Key, Value>> parallelStream() throws IOException {
+    return stream(true);
+  }
+
+  private Stream<Entry<Key, Value>> stream(boolean parallel) throws IOException {
+    FileChannel channel = FileChannel.open(Paths.get(this.filePath), StandardOpenOption.READ);
+    RecordSpliterator<Key, Value> spliterator = new RecordSpliterator<>(channel, this.fileType, this.delimiter, 0,
+        channel.size(), true);
+    return StreamSupport.stream(spliterator, parallel).onClose(() -> {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  public int getAvoidedResizes() {
+    return this.avoidedResizes;
+  }
+
+  // Sizes the table for the estimated record count up front, so loading does a
+  // single allocation instead of doubling (and relinking) the table repeatedly.
+  private int presize() throws IOException {
+    int expectedRecords = estimateRecordCount();
+    this.avoidedResizes = this.hashTable.reserve(expectedRecords);
+    return expectedRecords;
+  }
+
+  // One record per line break is an upper bound: multi-line CSV definitions and
+  // blank lines only make the estimate larger than the real count.
+  private int estimateRecordCount() throws IOException {
+    long newlines = 0;
+    long carriageReturns = 0;
+    try (FileChannel channel = FileChannel.open(Paths.get(this.filePath), StandardOpenOption.READ)) {
+      long size = channel.size();
+      for (long windowStart = 0; windowStart < size; windowStart += WINDOW_SIZE) {
+        long length = Math.min(WINDOW_SIZE, size - windowStart);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+        for (int i = 0; i < length; i++) {
+          byte b = buffer.get(i);
+          if (b == '\n') {
+            newlines++;
+          } else if (b == '\r') {
+            carriageReturns++;
+          }
+        }
+      }
+    }
+    long lineBreaks = newlines > 0 ? newlines : carriageReturns;
+    return (int) Math.min(Integer.MAX_VALUE / 2, lineBreaks + 1);
+  }
+
   @SuppressWarnings("unchecked")
   private void addEntryFromBuilders(StringBuilder keyBuilder,
       StringBuilder valueBuilder,
@@ -130,8 +333,14 @@ public class Loader<Key extends Comparable<Key>, Value extends Comparable<Value>
     if (!keyStr.isEmpty() && !valueStr.isEmpty()) {
       Key key = (Key) keyStr;
       Value value = (Value) valueStr;
-      Entry<Key, Value> entry = new Entry<>(key, value);
-      this.hashTable.put(entry);
+      this.hashTable.put(key, value);
+      notifyListener(key, value);
+    }
+  }
+
+  private void notifyListener(Key key, Value value) {
+    if (this.recordListener != null) {
+      this.recordListener.accept(key, value);
     }
   }
 
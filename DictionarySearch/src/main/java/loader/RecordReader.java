@@ -0,0 +1,236 @@
+package main.java.loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+// Reads TXT/CSV records straight from a memory-mapped byte range. Delimiters,
+// quotes and line breaks are found by scanning UTF-8 bytes, and each key and
+// value is decoded into a String exactly once. The CSV rules match
+// Loader.loadCsv(): quotes toggle the quoted state and stay in the field,
+// unquoted delimiters after the first one are dropped, and fields are trimmed
+// and unquoted the same way as Loader.unquoteCsvField().
+class RecordReader {
+  private static final long WINDOW_SIZE = 1L << 30;
+  private static final byte QUOTE = '"';
+
+  private final FileChannel channel;
+  private final FileType fileType;
+  private final byte delimiter;
+  private final long end;
+  private boolean isFirstRecord;
+
+  private MappedByteBuffer buffer;
+  private ByteBuffer view;
+  private long bufferStart;
+  private long bufferEnd;
+  private long position;
+  private byte[] scratch = new byte[256];
+
+  private String key;
+  private String value;
+
+  RecordReader(FileChannel channel, FileType fileType, char delimiter, long start, long end,
+      boolean isFirstRange) {
+    this.channel = channel;
+    this.fileType = fileType;
+    this.delimiter = (byte) delimiter;
+    this.end = end;
+    this.position = start;
+    this.isFirstRecord = isFirstRange;
+    this.bufferStart = start;
+    this.bufferEnd = start;
+  }
+
+  String getKey() {
+    return this.key;
+  }
+
+  String getValue() {
+    return this.value;
+  }
+
+  long getPosition() {
+    return this.position;
+  }
+
+  boolean next() throws IOException {
+    while (this.position < this.end) {
+      boolean found = this.fileType == FileType.CSV ? readCsvRecord() : readTxtRecord();
+      if (found) {
+        return true;
+      }
+    }
+    this.key = null;
+    this.value = null;
+    return false;
+  }
+
+  private boolean readTxtRecord() throws IOException {
+    long recordStart = this.position;
+    long i = recordStart;
+    while (i < this.end) {
+      byte b = byteAt(i, recordStart);
+      if (b == '\n' || b == '\r') {
+        break;
+      }
+      i++;
+    }
+    this.position = i < this.end ? i + 1 : i;
+
+    String line = decode(recordStart, i, false);
+    if (line.isEmpty()) {
+      return false;
+    }
+    this.key = line;
+    this.value = null;
+    return true;
+  }
+
+  private boolean readCsvRecord() throws IOException {
+    long recordStart = this.position;
+    long keyEnd = -1;
+    boolean extraDelimiters = false;
+    boolean insideQuotes = false;
+    long i = recordStart;
+
+    while (i < this.end) {
+      byte b = byteAt(i, recordStart);
+      if (b == QUOTE) {
+        insideQuotes = !insideQuotes;
+      } else if (b == this.delimiter && !insideQuotes) {
+        if (keyEnd == -1) {
+          keyEnd = i;
+        } else {
+          extraDelimiters = true;
+        }
+      } else if ((b == '\n' || b == '\r') && !insideQuotes) {
+        break;
+      }
+      i++;
+    }
+    this.position = i < this.end ? i + 1 : i;
+
+    boolean isFirst = this.isFirstRecord;
+    this.isFirstRecord = false;
+
+    long valueStart = keyEnd == -1 ? i : keyEnd + 1;
+    String keyStr = decode(recordStart, keyEnd == -1 ? i : keyEnd, true);
+    String valueStr = extraDelimiters
+        ? decodeSkippingDelimiters(valueStart, i)
+        : decode(valueStart, i, true);
+
+    if (isFirst &&
+        "word".equalsIgnoreCase(keyStr) &&
+        valueStr.toLowerCase().startsWith("definition")) {
+      return false;
+    }
+
+    if (keyStr.isEmpty() || valueStr.isEmpty()) {
+      return false;
+    }
+    this.key = keyStr;
+    this.value = valueStr;
+    return true;
+  }
+
+  private String decode(long from, long to, boolean unquote) {
+    int start = (int) (from - this.bufferStart);
+    int stop = (int) (to - this.bufferStart);
+    while (start < stop && (this.buffer.get(start) & 0xFF) <= ' ') {
+      start++;
+    }
+    while (stop > start && (this.buffer.get(stop - 1) & 0xFF) <= ' ') {
+      stop--;
+    }
+    if (start == stop) {
+      return "";
+    }
+
+    if (unquote && stop - start >= 2 &&
+        this.buffer.get(start) == QUOTE &&
+        this.buffer.get(stop - 1) == QUOTE) {
+      start++;
+      stop--;
+    }
+
+    int length = stop - start;
+    byte[] bytes = scratch(length);
+    this.view.position(start);
+    this.view.get(bytes, 0, length);
+    return unquote ? collapseQuotes(bytes, length) : new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private String decodeSkippingDelimiters(long from, long to) {
+    int start = (int) (from - this.bufferStart);
+    int stop = (int) (to - this.bufferStart);
+    byte[] bytes = scratch(stop - start);
+    int length = 0;
+    boolean insideQuotes = false;
+    for (int i = start; i < stop; i++) {
+      byte b = this.buffer.get(i);
+      if (b == QUOTE) {
+        insideQuotes = !insideQuotes;
+      } else if (b == this.delimiter && !insideQuotes) {
+        continue;
+      }
+      bytes[length++] = b;
+    }
+
+    // Same trim and unquote rules as decode(), applied to the compacted bytes.
+    int first = 0;
+    while (first < length && (bytes[first] & 0xFF) <= ' ') {
+      first++;
+    }
+    while (length > first && (bytes[length - 1] & 0xFF) <= ' ') {
+      length--;
+    }
+    if (length - first >= 2 && bytes[first] == QUOTE && bytes[length - 1] == QUOTE) {
+      first++;
+      length--;
+    }
+    System.arraycopy(bytes, first, bytes, 0, length - first);
+    return collapseQuotes(bytes, length - first);
+  }
+
+  // Replaces every "" with a single quote, the escape rule of unquoteCsvField().
+  private String collapseQuotes(byte[] bytes, int length) {
+    int write = 0;
+    for (int read = 0; read < length; read++) {
+      bytes[write++] = bytes[read];
+      if (bytes[read] == QUOTE && read + 1 < length && bytes[read + 1] == QUOTE) {
+        read++;
+      }
+    }
+    return new String(bytes, 0, write, StandardCharsets.UTF_8);
+  }
+
+  private byte[] scratch(int length) {
+    if (this.scratch.length < length) {
+      this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+    }
+    return this.scratch;
+  }
+
+  // Records are decoded from a single mapping, so when a record runs past the
+  // current window the window is remapped to start at that record.
+  private byte byteAt(long index, long recordStart) throws IOException {
+    if (index >= this.bufferEnd || recordStart < this.bufferStart) {
+      map(recordStart);
+      if (index >= this.bufferEnd) {
+        throw new IOException("Record starting at byte " + recordStart + " is larger than the mapping window");
+      }
+    }
+    return this.buffer.get((int) (index - this.bufferStart));
+  }
+
+  private void map(long from) throws IOException {
+    long length = Math.min(WINDOW_SIZE, this.end - from);
+    this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+    this.view = this.buffer.duplicate();
+    this.bufferStart = from;
+    this.bufferEnd = from + length;
+  }
+}
@@ -0,0 +1,89 @@
+package main.java.loader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import main.java.utils.Entry;
+
+// Spliterator over the records of a byte range. Splitting halves the range and
+// moves the split point to the next record boundary, so every record is
+// parsed by exactly one spliterator.
+class RecordSpliterator<Key extends Comparable<Key>, Value extends Comparable<Value>>
+    implements Spliterator<Entry<Key, Value>> {
+  private static final long MIN_SPLIT_SIZE = 1L << 20;
+  private static final long ESTIMATED_RECORD_SIZE = 64;
+
+  private final FileChannel channel;
+  private final FileType fileType;
+  private final char delimiter;
+  private long start;
+  private final long end;
+  private boolean isFirstRange;
+  private RecordReader reader;
+
+  RecordSpliterator(FileChannel channel, FileType fileType, char delimiter, long start, long end,
+      boolean isFirstRange) {
+    this.channel = channel;
+    this.fileType = fileType;
+    this.delimiter = delimiter;
+    this.start = start;
+    this.end = end;
+    this.isFirstRange = isFirstRange;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean tryAdvance(Consumer<? super Entry<Key, Value>> action) {
+    if (this.reader == null) {
+      this.reader = new RecordReader(this.channel, this.fileType, this.delimiter, this.start, this.end,
+          this.isFirstRange);
+    }
+    try {
+      if (!this.reader.next()) {
+        return false;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    action.accept(new Entry<>((Key) this.reader.getKey(), (Value) this.reader.getValue()));
+    return true;
+  }
+
+  @Override
+  public Spliterator<Entry<Key, Value>> trySplit() {
+    // Only ranges that have not started reading can be split.
+    if (this.reader != null || this.end - this.start < MIN_SPLIT_SIZE) {
+      return null;
+    }
+
+    long boundary;
+    try {
+      long middle = this.start + (this.end - this.start) / 2;
+      boundary = new RecordSplitter(this.channel, this.fileType).boundaryAfter(this.start, middle, this.end);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (boundary >= this.end) {
+      return null;
+    }
+
+    RecordSpliterator<Key, Value> prefix = new RecordSpliterator<>(this.channel, this.fileType, this.delimiter,
+        this.start, boundary, this.isFirstRange);
+    this.start = boundary;
+    this.isFirstRange = false;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Math.max(1, (this.end - this.start) / ESTIMATED_RECORD_SIZE);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+}
@@ -0,0 +1,121 @@
+package main.java.loader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Splits a TXT/CSV file into byte ranges that start and end on record
+// boundaries. A line break only ends a CSV record when it is outside quotes,
+// and the quoted state at any offset is the parity of the quotes before it.
+// Each thread counts the quotes of one raw chunk, so the parity at every
+// chunk start is known without a sequential pass over the file; from there
+// the next unquoted line break is the range boundary.
+class RecordSplitter {
+  private static final long WINDOW_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final FileType fileType;
+
+  RecordSplitter(FileChannel channel, FileType fileType) {
+    this.channel = channel;
+    this.fileType = fileType;
+  }
+
+  // Returns parts + 1 ascending offsets; range i is [bounds[i], bounds[i + 1]).
+  // Ranges may be empty when a record spans more than one raw chunk.
+  long[] split(int parts) throws IOException {
+    long size = this.channel.size();
+    long[] chunkStarts = new long[parts + 1];
+    for (int i = 0; i <= parts; i++) {
+      chunkStarts[i] = size * i / parts;
+    }
+
+    long[] quoteCounts = new long[parts];
+    if (this.fileType == FileType.CSV) {
+      countQuotesInParallel(chunkStarts, quoteCounts);
+    }
+
+    long[] bounds = new long[parts + 1];
+    bounds[parts] = size;
+    long quotesBefore = 0;
+    for (int i = 1; i < parts; i++) {
+      quotesBefore += quoteCounts[i - 1];
+      long boundary = findBoundary(chunkStarts[i], size, (quotesBefore & 1) == 1);
+      bounds[i] = Math.max(boundary, bounds[i - 1]);
+    }
+    return bounds;
+  }
+
+  // First record boundary after 'from' for a range that starts on a record
+  // boundary at 'start'; returns 'limit' when no boundary is found before it.
+  long boundaryAfter(long start, long from, long limit) throws IOException {
+    boolean insideQuotes = this.fileType == FileType.CSV && (countQuotes(start, from) & 1) == 1;
+    return Math.min(findBoundary(from, limit, insideQuotes), limit);
+  }
+
+  private void countQuotesInParallel(long[] chunkStarts, long[] quoteCounts) throws IOException {
+    int parts = quoteCounts.length;
+    Thread[] workers = new Thread[parts];
+    IOException[] failures = new IOException[parts];
+
+    for (int i = 0; i < parts; i++) {
+      final int part = i;
+      workers[i] = new Thread(() -> {
+        try {
+          quoteCounts[part] = countQuotes(chunkStarts[part], chunkStarts[part + 1]);
+        } catch (IOException e) {
+          failures[part] = e;
+        }
+      });
+      workers[i].start();
+    }
+
+    for (int i = 0; i < parts; i++) {
+      join(workers[i]);
+      if (failures[i] != null) {
+        throw failures[i];
+      }
+    }
+  }
+
+  private long countQuotes(long from, long to) throws IOException {
+    long count = 0;
+    for (long windowStart = from; windowStart < to; windowStart += WINDOW_SIZE) {
+      long length = Math.min(WINDOW_SIZE, to - windowStart);
+      MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+      for (int i = 0; i < length; i++) {
+        if (buffer.get(i) == '"') {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  // Offset just past the first line break at or after 'from' that is outside
+  // quotes, or 'size' when the rest of the range is a single record.
+  private long findBoundary(long from, long size, boolean insideQuotes) throws IOException {
+    for (long windowStart = from; windowStart < size; windowStart += WINDOW_SIZE) {
+      long length = Math.min(WINDOW_SIZE, size - windowStart);
+      MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+      for (int i = 0; i < length; i++) {
+        byte b = buffer.get(i);
+        if (b == '"' && this.fileType == FileType.CSV) {
+          insideQuotes = !insideQuotes;
+        } else if ((b == '\n' || b == '\r') && !insideQuotes) {
+          return windowStart + i + 1;
+        }
+      }
+    }
+    return size;
+  }
+
+  static void join(Thread worker) throws IOException {
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for loader thread", e);
+    }
+  }
+}
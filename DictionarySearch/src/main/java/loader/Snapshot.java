@@ -0,0 +1,127 @@
+package main.java.loader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import main.java.utils.ReadOnlySymbolTable;
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+
+// Read-only dictionary served from a memory-mapped snapshot file. The sorted
+// key array is decoded once when the snapshot is opened; definitions stay in
+// the mapping and are only decoded when get() asks for one.
+//
+// File layout (big-endian):
+//   int MAGIC, int VERSION, int count, int hashCapacity
+//   int[count + 1]  key offsets into the key bytes
+//   long[count + 1] value offsets into the value bytes
+//   int[hashCapacity] hash slots: sorted key index + 1, or 0 when empty
+//   key bytes (UTF-8, keys in sorted order), value bytes (UTF-8)
+public class Snapshot implements ReadOnlySymbolTable<String, String> {
+  static final int MAGIC = 0x44534E50;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final HashFunction HASH_FUNCTION = new JavaStringHash();
+
+  private final ByteBuffer buffer;
+  private final String[] sortedKeys;
+  private final int hashCapacity;
+  private final int valueOffsetsPosition;
+  private final int hashSlotsPosition;
+  private final int valueBytesPosition;
+
+  Snapshot(ByteBuffer buffer, String[] sortedKeys, int hashCapacity) {
+    int count = sortedKeys.length;
+    this.buffer = buffer;
+    this.sortedKeys = sortedKeys;
+    this.hashCapacity = hashCapacity;
+    this.valueOffsetsPosition = HEADER_SIZE + (count + 1) * 4;
+    this.hashSlotsPosition = this.valueOffsetsPosition + (count + 1) * 8;
+    int keyBytesPosition = this.hashSlotsPosition + hashCapacity * 4;
+    this.valueBytesPosition = keyBytesPosition + buffer.getInt(HEADER_SIZE + count * 4);
+  }
+
+  // The returned array is shared and already sorted; callers must not modify it.
+  public String[] getSortedKeys() {
+    return this.sortedKeys;
+  }
+
+  public String getValue(int sortedIndex) {
+    long start = this.buffer.getLong(this.valueOffsetsPosition + sortedIndex * 8);
+    long end = this.buffer.getLong(this.valueOffsetsPosition + (sortedIndex + 1) * 8);
+    int length = (int) (end - start);
+    byte[] bytes = new byte[length];
+    ByteBuffer view = this.buffer.duplicate();
+    view.position(this.valueBytesPosition + (int) start);
+    view.get(bytes, 0, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public int indexOf(String key) {
+    int mask = this.hashCapacity - 1;
+    int slot = HASH_FUNCTION.hash(key) & mask;
+    while (true) {
+      int entry = this.buffer.getInt(this.hashSlotsPosition + slot * 4);
+      if (entry == 0) {
+        return -1;
+      }
+      if (this.sortedKeys[entry - 1].equals(key)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  @Override
+  public String get(String key) {
+    int index = indexOf(key);
+    return index != -1 ? getValue(index) : null;
+  }
+
+  @Override
+  public boolean containsKey(String key) {
+    return indexOf(key) != -1;
+  }
+
+  @Override
+  public int size() {
+    return this.sortedKeys.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.sortedKeys.length == 0;
+  }
+
+  @Override
+  public String[] getKeys() {
+    String[] keys = new String[this.sortedKeys.length];
+    System.arraycopy(this.sortedKeys, 0, keys, 0, keys.length);
+    return keys;
+  }
+
+  @Override
+  public void forEachKey(Consumer<? super String> action) {
+    for (String key : this.sortedKeys) {
+      action.accept(key);
+    }
+  }
+
+  @Override
+  public void forEachEntry(BiConsumer<? super String, ? super String> action) {
+    for (int i = 0; i < this.sortedKeys.length; i++) {
+      action.accept(this.sortedKeys[i], getValue(i));
+    }
+  }
+
+  @Override
+  public Spliterator<String> keySpliterator() {
+    return Spliterators.spliterator(this.sortedKeys,
+        Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT |
+        Spliterator.NONNULL | Spliterator.IMMUTABLE);
+  }
+}
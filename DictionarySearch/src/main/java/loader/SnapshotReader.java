@@ -0,0 +1,73 @@
+package main.java.loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class SnapshotReader {
+  private final String snapshotPath;
+
+  public SnapshotReader(String snapshotPath) {
+    this.snapshotPath = snapshotPath;
+  }
+
+  public Snapshot read() throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Paths.get(this.snapshotPath), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < Snapshot.HEADER_SIZE) {
+        throw new IOException("Snapshot is truncated: " + this.snapshotPath);
+      }
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Snapshot is larger than 2 GiB: " + this.snapshotPath);
+      }
+      // The mapping stays valid after the channel is closed.
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    if (buffer.getInt(0) != Snapshot.MAGIC) {
+      throw new IOException("Not a dictionary snapshot: " + this.snapshotPath);
+    }
+    int version = buffer.getInt(4);
+    if (version != Snapshot.VERSION) {
+      throw new IOException("Unsupported snapshot version " + version + ": " + this.snapshotPath);
+    }
+    int count = buffer.getInt(8);
+    int hashCapacity = buffer.getInt(12);
+
+    long keyOffsetsPosition = Snapshot.HEADER_SIZE;
+    long valueOffsetsPosition = keyOffsetsPosition + (count + 1) * 4L;
+    long hashSlotsPosition = valueOffsetsPosition + (count + 1) * 8L;
+    long keyBytesPosition = hashSlotsPosition + hashCapacity * 4L;
+    if (count < 0 || Integer.bitCount(hashCapacity) != 1 || keyBytesPosition > buffer.capacity()) {
+      throw new IOException("Snapshot header is corrupt: " + this.snapshotPath);
+    }
+    long keyBytesLength = buffer.getInt((int) (keyOffsetsPosition + count * 4L));
+    long valueBytesLength = buffer.getLong((int) (valueOffsetsPosition + count * 8L));
+    if (keyBytesPosition + keyBytesLength + valueBytesLength != buffer.capacity()) {
+      throw new IOException("Snapshot is truncated: " + this.snapshotPath);
+    }
+
+    String[] sortedKeys = new String[count];
+    ByteBuffer view = buffer.duplicate();
+    byte[] scratch = new byte[64];
+    int start = buffer.getInt((int) keyOffsetsPosition);
+    for (int i = 0; i < count; i++) {
+      int end = buffer.getInt((int) (keyOffsetsPosition + (i + 1) * 4L));
+      int length = end - start;
+      if (scratch.length < length) {
+        scratch = new byte[Math.max(length, scratch.length * 2)];
+      }
+      view.position((int) (keyBytesPosition + start));
+      view.get(scratch, 0, length);
+      sortedKeys[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+      start = end;
+    }
+
+    return new Snapshot(buffer, sortedKeys, hashCapacity);
+  }
+}
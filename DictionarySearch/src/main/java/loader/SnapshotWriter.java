@@ -0,0 +1,88 @@
+package main.java.loader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import main.java.utils.ReadOnlySymbolTable;
+
+public class SnapshotWriter {
+  private final String snapshotPath;
+
+  public SnapshotWriter(String snapshotPath) {
+    this.snapshotPath = snapshotPath;
+  }
+
+  // sortedKeys must be sorted and contain exactly the keys of the dictionary.
+  // The file is written next to the target and renamed into place, so readers
+  // never see a half-written snapshot.
+  public void write(ReadOnlySymbolTable<String, String> dictionary, String[] sortedKeys) throws IOException {
+    int count = sortedKeys.length;
+    byte[][] keyBytes = new byte[count][];
+    byte[][] valueBytes = new byte[count][];
+    long totalKeyBytes = 0;
+    for (int i = 0; i < count; i++) {
+      keyBytes[i] = sortedKeys[i].getBytes(StandardCharsets.UTF_8);
+      String value = dictionary.get(sortedKeys[i]);
+      valueBytes[i] = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+      totalKeyBytes += keyBytes[i].length;
+    }
+    if (totalKeyBytes > Integer.MAX_VALUE) {
+      throw new IOException("Dictionary keys are too large for a snapshot");
+    }
+
+    int hashCapacity = 2;
+    while (hashCapacity < count * 2) {
+      hashCapacity <<= 1;
+    }
+    int[] slots = new int[hashCapacity];
+    for (int i = 0; i < count; i++) {
+      int slot = Snapshot.HASH_FUNCTION.hash(sortedKeys[i]) & (hashCapacity - 1);
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & (hashCapacity - 1);
+      }
+      slots[slot] = i + 1;
+    }
+
+    Path target = Paths.get(this.snapshotPath);
+    Path temp = Paths.get(this.snapshotPath + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(temp.toFile()), 1 << 16))) {
+      out.writeInt(Snapshot.MAGIC);
+      out.writeInt(Snapshot.VERSION);
+      out.writeInt(count);
+      out.writeInt(hashCapacity);
+
+      int keyOffset = 0;
+      out.writeInt(keyOffset);
+      for (int i = 0; i < count; i++) {
+        keyOffset += keyBytes[i].length;
+        out.writeInt(keyOffset);
+      }
+
+      long valueOffset = 0;
+      out.writeLong(valueOffset);
+      for (int i = 0; i < count; i++) {
+        valueOffset += valueBytes[i].length;
+        out.writeLong(valueOffset);
+      }
+
+      for (int slot : slots) {
+        out.writeInt(slot);
+      }
+      for (byte[] bytes : keyBytes) {
+        out.write(bytes);
+      }
+      for (byte[] bytes : valueBytes) {
+        out.write(bytes);
+      }
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -1,14 +1,29 @@
 package main.java.search;
 
+import main.java.utils.PackedKeyStore;
+
 public class BinarySearch<T extends Comparable<T>> implements Search<T> {
+  private final PackedKeyStore keyStore;
+
+  public BinarySearch() {
+    this.keyStore = null;
+  }
+
+  // Searches the store's packed bytes instead of the array argument, so no
+  // String is touched per comparison. Positions are the store's sorted
+  // positions, which match a sorted array of the same keys.
+  public BinarySearch(PackedKeyStore keyStore) {
+    this.keyStore = keyStore;
+  }
+
   @Override
   public int search(T[] sortedArray, T target) {
     int left = 0;
-    int right = sortedArray.length - 1;
+    int right = length(sortedArray) - 1;
 
     while (left <= right) {
       int mid = left + (right - left) / 2;
-      int comparison = sortedArray[mid].compareTo(target);
+      int comparison = compareAt(sortedArray, mid, target);
 
       if (comparison == 0) {
         return mid;
@@ -21,6 +36,73 @@ public class BinarySearch<T extends Comparable<T>> implements Search<T> {
     return -1;
   }
 
+  // Queries that arrive sorted (the usual shape of a nightly word list) are
+  // merged with the array: each lookup gallops forward from the previous
+  // match, so m queries cost O(m log(n / m)) comparisons instead of
+  // O(m log n) and equal neighbours are answered with one comparison.
+  // Sorting unsorted queries first would cost O(m log m) on its own, which
+  // is no cheaper than searching each one, so those fall back to search().
+  // For duplicate keys the merge reports the first matching position.
+  @Override
+  public void searchAll(T[] sortedArray, T[] targets, int[] out) {
+    Search.checkBatch(targets, out);
+    if (!isSorted(targets)) {
+      for (int i = 0; i < targets.length; i++) {
+        out[i] = search(sortedArray, targets[i]);
+      }
+      return;
+    }
+
+    int position = 0;
+    for (int i = 0; i < targets.length; i++) {
+      T target = targets[i];
+      position = gallop(sortedArray, target, position);
+      boolean found = position < length(sortedArray) && compareAt(sortedArray, position, target) == 0;
+      out[i] = found ? position : -1;
+    }
+  }
+
+  // First position >= from whose element is not less than target.
+  private int gallop(T[] sortedArray, T target, int from) {
+    int n = length(sortedArray);
+    if (from >= n || compareAt(sortedArray, from, target) >= 0) {
+      return from;
+    }
+    int step = 1;
+    while (from + step < n && compareAt(sortedArray, from + step, target) < 0) {
+      step <<= 1;
+    }
+    // sortedArray[from + step / 2] < target <= sortedArray[from + step]
+    int left = from + (step >> 1) + 1;
+    int right = Math.min(from + step, n);
+    while (left < right) {
+      int mid = (left + right) >>> 1;
+      if (compareAt(sortedArray, mid, target) < 0) {
+        left = mid + 1;
+      } else {
+        right = mid;
+      }
+    }
+    return left;
+  }
+
+  private int length(T[] sortedArray) {
+    return this.keyStore != null ? this.keyStore.size() : sortedArray.length;
+  }
+
+  private int compareAt(T[] sortedArray, int index, T target) {
+    return this.keyStore != null ? this.keyStore.compare(index, target.toString()) : sortedArray[index].compareTo(target);
+  }
+
+  private boolean isSorted(T[] targets) {
+    for (int i = 1; i < targets.length; i++) {
+      if (targets[i - 1].compareTo(targets[i]) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void sort(T[] array, int left, int right) {
     if (array == null || array.length == 0) {
       return;
@@ -0,0 +1,72 @@
+package main.java.search;
+
+import java.lang.reflect.Array;
+
+import main.java.utils.BloomFilter;
+
+// Puts a Bloom filter in front of any search strategy: targets the filter
+// rejects are reported missing without touching the array, and targets that
+// pass but are not found are counted as false positives.
+public class BloomFilteredSearch<T extends Comparable<T>> implements Search<T> {
+  private final Search<T> search;
+  private final BloomFilter filter;
+
+  public BloomFilteredSearch(Search<T> search, BloomFilter filter) {
+    this.search = search;
+    this.filter = filter;
+  }
+
+  @Override
+  public int search(T[] array, T target) {
+    if (!this.filter.mightContain(target.toString())) {
+      return -1;
+    }
+    int index = this.search.search(array, target);
+    if (index == -1) {
+      this.filter.recordFalsePositive();
+    }
+    return index;
+  }
+
+  // Only the targets that pass the filter reach the wrapped strategy, in one
+  // batch and in their original order.
+  @Override
+  public void searchAll(T[] array, T[] targets, int[] out) {
+    Search.checkBatch(targets, out);
+    T[] candidates = targets.clone();
+    int[] positions = new int[targets.length];
+    int count = 0;
+    for (int i = 0; i < targets.length; i++) {
+      if (this.filter.mightContain(targets[i].toString())) {
+        candidates[count] = targets[i];
+        positions[count++] = i;
+      } else {
+        out[i] = -1;
+      }
+    }
+    if (count == 0) {
+      return;
+    }
+
+    T[] passed = count == candidates.length ? candidates : shrink(candidates, count);
+    int[] results = new int[count];
+    this.search.searchAll(array, passed, results);
+    for (int i = 0; i < count; i++) {
+      out[positions[i]] = results[i];
+      if (results[i] == -1) {
+        this.filter.recordFalsePositive();
+      }
+    }
+  }
+
+  public BloomFilter getFilter() {
+    return this.filter;
+  }
+
+  private static <T> T[] shrink(T[] array, int length) {
+    @SuppressWarnings("unchecked")
+    T[] result = (T[]) Array.newInstance(array.getClass().getComponentType(), length);
+    System.arraycopy(array, 0, result, 0, length);
+    return result;
+  }
+}
@@ -0,0 +1,457 @@
+package main.java.search;
+
+import java.util.Arrays;
+
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+import main.java.utils.StringHashTable;
+
+// Full-text inverted index over the definitions, for "which words mention X"
+// queries. Definitions are split into lowercase runs of letters and digits,
+// and every term keeps a posting list of (document delta, term frequency)
+// varint pairs in a growing byte array, so documents can be added one at a
+// time while a file loads (see Loader.setRecordListener()).
+//
+// Queries are AND (every term) or OR (any term) and are ranked by BM25.
+// Adding a word that is already indexed replaces its definition: the old
+// document is marked deleted and left out of both the matches and the idf.
+public class DefinitionIndex {
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  // Terms: id -> postings, doc frequency and the last doc id added.
+  private final StringHashTable<Integer> termIds = new StringHashTable<>();
+  private byte[][] postings = new byte[64][];
+  private int[] postingBytes = new int[64];
+  private int[] documentFrequencies = new int[64];
+  private int[] lastDocuments = new int[64];
+  private int termCount;
+
+  // Documents: id -> word, length in terms, deleted flag.
+  private final StringHashTable<Integer> documentIds = new StringHashTable<>();
+  private String[] words = new String[64];
+  private int[] lengths = new int[64];
+  private long[] deleted = new long[1];
+  private int documentCount;
+  private int liveDocuments;
+  private long totalLength;
+
+  public DefinitionIndex() {
+  }
+
+  public DefinitionIndex(ReadOnlySymbolTable<String, String> dictionary) {
+    dictionary.forEachEntry(this::add);
+  }
+
+  public void add(String word, String definition) {
+    if (definition == null) {
+      return;
+    }
+    Integer previous = this.documentIds.get(word);
+    if (previous != null) {
+      this.deleted[previous >>> 6] |= 1L << previous;
+      this.liveDocuments--;
+      this.totalLength -= this.lengths[previous];
+    }
+
+    int document = this.documentCount++;
+    if (document == this.words.length) {
+      this.words = grow(this.words);
+      this.lengths = grow(this.lengths);
+    }
+    if ((document >>> 6) == this.deleted.length) {
+      this.deleted = grow(this.deleted);
+    }
+    this.words[document] = word;
+    this.documentIds.put(word, document);
+
+    // Count each term of this definition, then append one posting per term.
+    StringHashTable<Integer> counts = new StringHashTable<>();
+    String[] order = new String[8];
+    int distinct = 0;
+    int length = 0;
+    int i = 0;
+    while (i < definition.length()) {
+      int start = i;
+      while (i < definition.length() && Character.isLetterOrDigit(definition.charAt(i))) {
+        i++;
+      }
+      if (i == start) {
+        i++;
+        continue;
+      }
+      String term = definition.substring(start, i).toLowerCase();
+      length++;
+      Integer count = counts.get(term);
+      if (count == null) {
+        if (distinct == order.length) {
+          order = grow(order);
+        }
+        order[distinct++] = term;
+        counts.put(term, 1);
+      } else {
+        counts.put(term, count + 1);
+      }
+    }
+    for (int t = 0; t < distinct; t++) {
+      appendPosting(termId(order[t]), document, counts.get(order[t]));
+    }
+
+    this.lengths[document] = length;
+    this.totalLength += length;
+    this.liveDocuments++;
+  }
+
+  // Words whose definitions contain every term of the query, best first.
+  public ArrayList<String> searchAll(String query, int limit) {
+    return search(query, limit, true);
+  }
+
+  // Words whose definitions contain any term of the query, best first.
+  public ArrayList<String> searchAny(String query, int limit) {
+    return search(query, limit, false);
+  }
+
+  // A bare OR token (in capitals, e.g. "river OR lake") makes the query match
+  // any term and is not searched itself; otherwise all terms must match, and
+  // a lowercase "or" is an ordinary term.
+  public ArrayList<String> search(String query, int limit) {
+    StringBuilder terms = new StringBuilder();
+    boolean any = false;
+    for (String token : query.trim().split("\\s+")) {
+      if (token.equals("OR")) {
+        any = true;
+      } else {
+        terms.append(token).append(' ');
+      }
+    }
+    return search(terms.toString(), limit, !any);
+  }
+
+  public int size() {
+    return this.liveDocuments;
+  }
+
+  public int getTermCount() {
+    return this.termCount;
+  }
+
+  // Bytes held by the posting lists (used part only).
+  public long getPostingBytes() {
+    long bytes = 0;
+    for (int term = 0; term < this.termCount; term++) {
+      bytes += this.postingBytes[term];
+    }
+    return bytes;
+  }
+
+  private ArrayList<String> search(String query, int limit, boolean matchAll) {
+    ArrayList<String> results = new ArrayList<>();
+    String[] terms = tokenize(query);
+    if (terms.length == 0 || limit <= 0 || this.liveDocuments == 0) {
+      return results;
+    }
+
+    int[] ids = new int[terms.length];
+    int idCount = 0;
+    long postingCount = 0;
+    for (String term : terms) {
+      Integer termId = this.termIds.get(term);
+      if (termId == null) {
+        if (matchAll) {
+          return results;
+        }
+        continue;
+      }
+      ids[idCount++] = termId;
+      postingCount += this.documentFrequencies[termId];
+    }
+    if (idCount == 0) {
+      return results;
+    }
+
+    // Rarest term first: for AND queries its postings are the only
+    // candidates, so the other lists just add to documents already scored.
+    for (int i = 1; i < idCount; i++) {
+      int id = ids[i];
+      int j = i;
+      for (; j > 0 && this.documentFrequencies[ids[j - 1]] > this.documentFrequencies[id]; j--) {
+        ids[j] = ids[j - 1];
+      }
+      ids[j] = id;
+    }
+    ScoreTable scores = new ScoreTable(matchAll ? this.documentFrequencies[ids[0]] : postingCount);
+
+    double averageLength = (double) this.totalLength / this.liveDocuments;
+    for (int t = 0; t < idCount; t++) {
+      int termId = ids[t];
+      int frequency = liveFrequency(termId);
+      double idf = Math.log(1 + (this.liveDocuments - frequency + 0.5) / (frequency + 0.5));
+      boolean insert = t == 0 || !matchAll;
+
+      byte[] data = this.postings[termId];
+      int position = 0;
+      int document = 0;
+      int end = this.postingBytes[termId];
+      while (position < end) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = data[position++];
+          delta |= (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        int tf = 0;
+        shift = 0;
+        do {
+          b = data[position++];
+          tf |= (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        document += delta;
+        if (isDeleted(document)) {
+          continue;
+        }
+        double norm = K1 * (1 - B + B * this.lengths[document] / averageLength);
+        scores.add(document, idf * tf * (K1 + 1) / (tf + norm), insert);
+      }
+    }
+
+    // Keep the best limit documents in a min-heap on score (ties go to the
+    // earlier document); the heap holds score table slots.
+    int[] heap = new int[Math.min(limit, scores.size)];
+    int heapSize = 0;
+    for (int slot = 0; slot < scores.documents.length; slot++) {
+      if (scores.documents[slot] == -1 || (matchAll && scores.matched[slot] < idCount)) {
+        continue;
+      }
+      if (heapSize < heap.length) {
+        heap[heapSize] = slot;
+        siftUp(heap, heapSize++, scores);
+      } else if (scores.ranksBelow(heap[0], slot)) {
+        heap[0] = slot;
+        siftDown(heap, heapSize, scores);
+      }
+    }
+    String[] ranked = new String[heapSize];
+    while (heapSize > 0) {
+      ranked[heapSize - 1] = this.words[scores.documents[heap[0]]];
+      heap[0] = heap[--heapSize];
+      siftDown(heap, heapSize, scores);
+    }
+    for (String word : ranked) {
+      results.add(word);
+    }
+    return results;
+  }
+
+  // Distinct lowercase terms of text.
+  private static String[] tokenize(String text) {
+    String[] terms = new String[4];
+    int count = 0;
+    int i = 0;
+    while (i < text.length()) {
+      int start = i;
+      while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+        i++;
+      }
+      if (i == start) {
+        i++;
+        continue;
+      }
+      String term = text.substring(start, i).toLowerCase();
+      boolean seen = false;
+      for (int t = 0; t < count && !seen; t++) {
+        seen = terms[t].equals(term);
+      }
+      if (!seen) {
+        if (count == terms.length) {
+          terms = grow(terms);
+        }
+        terms[count++] = term;
+      }
+    }
+    String[] result = new String[count];
+    System.arraycopy(terms, 0, result, 0, count);
+    return result;
+  }
+
+  private int termId(String term) {
+    Integer id = this.termIds.get(term);
+    if (id != null) {
+      return id;
+    }
+    id = this.termCount++;
+    if (id == this.postings.length) {
+      this.postings = grow(this.postings);
+      this.postingBytes = grow(this.postingBytes);
+      this.documentFrequencies = grow(this.documentFrequencies);
+      this.lastDocuments = grow(this.lastDocuments);
+    }
+    this.postings[id] = new byte[8];
+    this.termIds.put(term, id);
+    return id;
+  }
+
+  private void appendPosting(int term, int document, int frequency) {
+    if (this.postingBytes[term] + 10 > this.postings[term].length) {
+      byte[] grown = new byte[this.postings[term].length * 2];
+      System.arraycopy(this.postings[term], 0, grown, 0, this.postingBytes[term]);
+      this.postings[term] = grown;
+    }
+    writeVarint(term, document - this.lastDocuments[term]);
+    writeVarint(term, frequency);
+    this.lastDocuments[term] = document;
+    this.documentFrequencies[term]++;
+  }
+
+  private void writeVarint(int term, int value) {
+    byte[] data = this.postings[term];
+    int position = this.postingBytes[term];
+    while ((value & ~0x7F) != 0) {
+      data[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    data[position++] = (byte) value;
+    this.postingBytes[term] = position;
+  }
+
+  // Number of live documents containing term. Replaced definitions stay in
+  // the posting lists, so once there are any, the list is walked to leave
+  // them out of the idf.
+  private int liveFrequency(int term) {
+    if (this.liveDocuments == this.documentCount) {
+      return this.documentFrequencies[term];
+    }
+    byte[] data = this.postings[term];
+    int position = 0;
+    int document = 0;
+    int end = this.postingBytes[term];
+    int frequency = 0;
+    while (position < end) {
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[position++];
+        delta |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      // Skip the term frequency.
+      do {
+        b = data[position++];
+      } while (b < 0);
+      document += delta;
+      if (!isDeleted(document)) {
+        frequency++;
+      }
+    }
+    return frequency;
+  }
+
+  private boolean isDeleted(int document) {
+    return (this.deleted[document >>> 6] & (1L << document)) != 0;
+  }
+
+  private static void siftUp(int[] heap, int slot, ScoreTable scores) {
+    while (slot > 0) {
+      int parent = (slot - 1) / 2;
+      if (!scores.ranksBelow(heap[slot], heap[parent])) {
+        return;
+      }
+      int temp = heap[slot];
+      heap[slot] = heap[parent];
+      heap[parent] = temp;
+      slot = parent;
+    }
+  }
+
+  private static void siftDown(int[] heap, int size, ScoreTable scores) {
+    int slot = 0;
+    while (true) {
+      int smallest = slot;
+      for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+        if (scores.ranksBelow(heap[child], heap[smallest])) {
+          smallest = child;
+        }
+      }
+      if (smallest == slot) {
+        return;
+      }
+      int temp = heap[slot];
+      heap[slot] = heap[smallest];
+      heap[smallest] = temp;
+      slot = smallest;
+    }
+  }
+
+  // Open-addressing map from document id to its running score and the number
+  // of query terms it matched, sized for the postings a query can touch, so
+  // a query costs what its posting lists cost rather than the whole index.
+  private static final class ScoreTable {
+    private final int[] documents;
+    private final double[] scores;
+    private final int[] matched;
+    private final int mask;
+    private int size;
+
+    private ScoreTable(long expectedSize) {
+      int capacity = 2;
+      while (capacity < expectedSize * 2 && capacity < (1 << 30)) {
+        capacity <<= 1;
+      }
+      this.documents = new int[capacity];
+      this.scores = new double[capacity];
+      this.matched = new int[capacity];
+      this.mask = capacity - 1;
+      Arrays.fill(this.documents, -1);
+    }
+
+    // Adds score to document, which is only entered if insert is set.
+    private void add(int document, double score, boolean insert) {
+      int slot = (document * 0x9E3779B9) & this.mask;
+      while (this.documents[slot] != -1 && this.documents[slot] != document) {
+        slot = (slot + 1) & this.mask;
+      }
+      if (this.documents[slot] == -1) {
+        if (!insert) {
+          return;
+        }
+        this.documents[slot] = document;
+        this.size++;
+      }
+      this.scores[slot] += score;
+      this.matched[slot]++;
+    }
+
+    private boolean ranksBelow(int slot, int other) {
+      return this.scores[slot] < this.scores[other]
+          || (this.scores[slot] == this.scores[other] && this.documents[slot] > this.documents[other]);
+    }
+  }
+
+  private static String[] grow(String[] array) {
+    String[] grown = new String[array.length * 2];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+
+  private static int[] grow(int[] array) {
+    int[] grown = new int[array.length * 2];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+
+  private static long[] grow(long[] array) {
+    long[] grown = new long[array.length * 2];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+
+  private static byte[][] grow(byte[][] array) {
+    byte[][] grown = new byte[array.length * 2][];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+}
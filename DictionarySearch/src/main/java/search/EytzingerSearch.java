@@ -0,0 +1,86 @@
+package main.java.search;
+
+// Static search structure over a sorted key array stored in Eytzinger (BFS)
+// order: slot k has its children at 2k and 2k + 1, so the first levels of the
+// tree share a few cache lines and every step reads the next slot from a
+// predictable place. Each slot also carries the first eight chars of its key
+// packed into two adjacent longs, so most comparisons never dereference the
+// String; only slots whose prefix equals the target's fall back to
+// compareTo().
+public class EytzingerSearch implements Search<String> {
+  private static final int CHARS_PER_LONG = 4;
+
+  private final long[] prefixes;
+  private final String[] keys;
+  private final int[] positions;
+  private final int size;
+
+  // sortedKeys must be sorted and free of nulls; it is not modified.
+  public EytzingerSearch(String[] sortedKeys) {
+    this.size = sortedKeys.length;
+    this.prefixes = new long[2 * (this.size + 1)];
+    this.keys = new String[this.size + 1];
+    this.positions = new int[this.size + 1];
+    fill(sortedKeys, 0, 1);
+  }
+
+  // The array argument is ignored: the structure is built once from the
+  // sorted keys, and the returned index is the key's position among them.
+  @Override
+  public int search(String[] array, String target) {
+    return find(target);
+  }
+
+  public int find(String target) {
+    long targetHigh = prefix(target, 0);
+    long targetLow = prefix(target, CHARS_PER_LONG);
+    int k = 1;
+    while (k <= this.size) {
+      long slotHigh = this.prefixes[2 * k];
+      long slotLow = this.prefixes[2 * k + 1];
+      int comparison;
+      if (slotHigh != targetHigh) {
+        comparison = slotHigh < targetHigh ? -1 : 1;
+      } else if (slotLow != targetLow) {
+        comparison = slotLow < targetLow ? -1 : 1;
+      } else {
+        comparison = this.keys[k].compareTo(target);
+        if (comparison == 0) {
+          return this.positions[k];
+        }
+      }
+      k = 2 * k + (comparison < 0 ? 1 : 0);
+    }
+    return -1;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  // In-order walk of the implicit tree hands out the sorted keys, so slot k
+  // receives the key of the same rank as node k.
+  private int fill(String[] sortedKeys, int next, int k) {
+    if (k <= this.size) {
+      next = fill(sortedKeys, next, 2 * k);
+      this.keys[k] = sortedKeys[next];
+      this.prefixes[2 * k] = prefix(sortedKeys[next], 0);
+      this.prefixes[2 * k + 1] = prefix(sortedKeys[next], CHARS_PER_LONG);
+      this.positions[k] = next++;
+      next = fill(sortedKeys, next, 2 * k + 1);
+    }
+    return next;
+  }
+
+  // Packs four chars starting at from big-endian with zero padding. Flipping
+  // the sign bit makes signed long order match String.compareTo() order on
+  // those chars; equal prefixes (including "ab" vs "ab\0") are resolved by
+  // compareTo().
+  private static long prefix(String key, int from) {
+    long packed = 0;
+    for (int i = from; i < from + CHARS_PER_LONG; i++) {
+      packed = (packed << 16) | (i < key.length() ? key.charAt(i) : 0);
+    }
+    return packed ^ Long.MIN_VALUE;
+  }
+}
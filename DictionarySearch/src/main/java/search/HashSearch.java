@@ -1,21 +1,79 @@
 package main.java.search;
 
-import main.java.utils.HashTable;
+import main.java.utils.BloomFilter;
+import main.java.utils.PackedKeyStore;
+import main.java.utils.ReadOnlySymbolTable;
 
 public class HashSearch<T extends Comparable<T>> implements Search<T> {
-  private HashTable<T, String> hashTable;
+  private ReadOnlySymbolTable<T, String> hashTable;
+  private BloomFilter filter;
+  private PackedKeyStore keyStore;
 
-  public HashSearch(HashTable<T, String> hashTable) {
+  public HashSearch(ReadOnlySymbolTable<T, String> hashTable) {
     this.hashTable = hashTable;
   }
 
+  // With a filter, keys it rejects are reported missing without hashing into
+  // the table or walking a chain.
+  public HashSearch(ReadOnlySymbolTable<T, String> hashTable, BloomFilter filter) {
+    this.hashTable = hashTable;
+    this.filter = filter;
+  }
+
+  // Membership checks (search() and searchAll()) probe the store's packed
+  // bytes instead of the table; definitions still come from the table.
+  public HashSearch(ReadOnlySymbolTable<T, String> hashTable, BloomFilter filter, PackedKeyStore keyStore) {
+    this.hashTable = hashTable;
+    this.filter = filter;
+    this.keyStore = keyStore;
+  }
+
   @Override
   public int search(T[] array, T target) {
-    String result = hashTable.get(target);
+    if (this.keyStore != null) {
+      return rejectedByFilter(target) ? -1 : found(contains(target));
+    }
+    String result = searchInHashTable(target);
     return result != null ? 1 : -1;
   }
 
+  // Checks membership only, so tables that decode definitions lazily
+  // (OffHeapStringTable, Snapshot) never materialise a value.
+  @Override
+  public void searchAll(T[] array, T[] targets, int[] out) {
+    Search.checkBatch(targets, out);
+    for (int i = 0; i < targets.length; i++) {
+      out[i] = rejectedByFilter(targets[i]) ? -1 : found(contains(targets[i]));
+    }
+  }
+
   public String searchInHashTable(T key) {
-    return hashTable.get(key);
+    if (rejectedByFilter(key)) {
+      return null;
+    }
+    String result = hashTable.get(key);
+    if (result == null && this.filter != null) {
+      this.filter.recordFalsePositive();
+    }
+    return result;
+  }
+
+  public BloomFilter getFilter() {
+    return this.filter;
+  }
+
+  private boolean contains(T key) {
+    return this.keyStore != null ? this.keyStore.indexOf(key.toString()) != -1 : this.hashTable.containsKey(key);
+  }
+
+  private boolean rejectedByFilter(T key) {
+    return this.filter != null && !this.filter.mightContain(key.toString());
+  }
+
+  private int found(boolean contained) {
+    if (!contained && this.filter != null) {
+      this.filter.recordFalsePositive();
+    }
+    return contained ? 1 : -1;
   }
 }
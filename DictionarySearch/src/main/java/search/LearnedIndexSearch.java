@@ -0,0 +1,236 @@
+package main.java.search;
+
+// Two-stage learned index (RMI) over a sorted key array. Every key is turned
+// into a number from its leading chars, which never decreases along the
+// sorted array. A root linear model maps that number to one of many leaf
+// models; each leaf is a least-squares line from the number to the
+// position, trained on the keys routed to it, and records the smallest and
+// largest error it made on them. A lookup evaluates both models and finishes
+// with a binary search inside the leaf's error window, which for clustered
+// dictionaries is far smaller than the whole array.
+public class LearnedIndexSearch implements Search<String> {
+  private static final int DEFAULT_KEYS_PER_MODEL = 32;
+  private static final long MAX_EXACT = 1L << 53;
+
+  private final String[] sortedKeys;
+  private final int[] ranks = new int[256];
+  private final int radix;
+  private final int digits;
+  private final double rootMin;
+  private final double rootScale;
+  private final double[] bases;
+  private final double[] slopes;
+  private final double[] intercepts;
+  private final int[] minErrors;
+  private final int[] maxErrors;
+
+  private long lookups;
+  private long probes;
+
+  public LearnedIndexSearch(String[] sortedKeys) {
+    this(sortedKeys, Math.max(1, sortedKeys.length / DEFAULT_KEYS_PER_MODEL));
+  }
+
+  // sortedKeys must be sorted and is shared, not copied: search() returns
+  // positions in it, and it must not change afterwards.
+  public LearnedIndexSearch(String[] sortedKeys, int modelCount) {
+    if (modelCount < 1) {
+      throw new IllegalArgumentException("Model count must be positive");
+    }
+    int n = sortedKeys.length;
+    this.sortedKeys = sortedKeys;
+    this.bases = new double[modelCount];
+    this.slopes = new double[modelCount];
+    this.intercepts = new double[modelCount];
+    this.minErrors = new int[modelCount];
+    this.maxErrors = new int[modelCount];
+
+    // Chars become dense ranks (the number of distinct key chars <= it) so
+    // a dictionary of lowercase words uses the whole number range instead of
+    // 26 of every 256 byte values; otherwise most leaves would stay empty.
+    boolean[] present = new boolean[256];
+    for (String key : sortedKeys) {
+      for (int i = 0; i < key.length(); i++) {
+        present[Math.min(key.charAt(i), 0xFF)] = true;
+      }
+    }
+    int rank = 0;
+    for (int ch = 0; ch < 256; ch++) {
+      if (present[ch]) {
+        rank++;
+      }
+      this.ranks[ch] = rank;
+    }
+    this.radix = rank + 1;
+    int digits = 0;
+    for (long power = this.radix; power <= MAX_EXACT; power *= this.radix) {
+      digits++;
+    }
+    this.digits = Math.max(1, digits);
+
+    double[] values = new double[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = value(sortedKeys[i]);
+    }
+    this.rootMin = n > 0 ? values[0] : 0.0;
+    double range = n > 0 ? values[n - 1] - values[0] : 0.0;
+    this.rootScale = range > 0 ? modelCount / range : 0.0;
+
+    // The root model is monotone, so each leaf receives a contiguous run.
+    int start = 0;
+    for (int model = 0; model < modelCount; model++) {
+      int end = start;
+      while (end < n && leafOf(values[end]) == model) {
+        end++;
+      }
+      train(model, values, start, end);
+      start = end;
+    }
+  }
+
+  // The array argument is ignored: positions refer to the array the index
+  // was trained on.
+  @Override
+  public int search(String[] array, String target) {
+    return find(target);
+  }
+
+  public int find(String target) {
+    int n = this.sortedKeys.length;
+    if (n == 0) {
+      return -1;
+    }
+    double value = value(target);
+    int model = leafOf(value);
+    int predicted = predict(model, value);
+    int left = Math.max(0, predicted + this.minErrors[model]);
+    int right = Math.min(n - 1, predicted + this.maxErrors[model]);
+
+    this.lookups++;
+    while (left <= right) {
+      int mid = left + (right - left) / 2;
+      this.probes++;
+      int comparison = this.sortedKeys[mid].compareTo(target);
+      if (comparison == 0) {
+        return mid;
+      } else if (comparison < 0) {
+        left = mid + 1;
+      } else {
+        right = mid - 1;
+      }
+    }
+    return -1;
+  }
+
+  public int getModelCount() {
+    return this.slopes.length;
+  }
+
+  // Key comparisons per lookup since construction or the last reset. The
+  // counters are plain fields, so they are only exact for one thread.
+  public double getAverageProbes() {
+    return this.lookups == 0 ? 0.0 : (double) this.probes / this.lookups;
+  }
+
+  public long getLookupCount() {
+    return this.lookups;
+  }
+
+  public void resetStatistics() {
+    this.lookups = 0;
+    this.probes = 0;
+  }
+
+  // Mean width of the window the final binary search runs over, weighted by
+  // the number of keys each leaf holds.
+  public double getAverageWindow() {
+    int n = this.sortedKeys.length;
+    if (n == 0) {
+      return 0.0;
+    }
+    double total = 0;
+    for (int i = 0; i < n; i++) {
+      int model = leafOf(value(this.sortedKeys[i]));
+      total += this.maxErrors[model] - this.minErrors[model] + 1;
+    }
+    return total / n;
+  }
+
+  public int getMaxWindow() {
+    int max = 0;
+    for (int model = 0; model < this.slopes.length; model++) {
+      max = Math.max(max, this.maxErrors[model] - this.minErrors[model] + 1);
+    }
+    return max;
+  }
+
+  private void train(int model, double[] values, int start, int end) {
+    if (start == end) {
+      // No keys: predict the insertion point, a target here is never found.
+      this.intercepts[model] = start;
+      return;
+    }
+
+    double base = values[start];
+    double meanX = 0;
+    double meanY = 0;
+    for (int i = start; i < end; i++) {
+      meanX += values[i] - base;
+      meanY += i;
+    }
+    meanX /= end - start;
+    meanY /= end - start;
+
+    double covariance = 0;
+    double variance = 0;
+    for (int i = start; i < end; i++) {
+      double dx = values[i] - base - meanX;
+      covariance += dx * (i - meanY);
+      variance += dx * dx;
+    }
+    double slope = variance > 0 ? covariance / variance : 0.0;
+    this.bases[model] = base;
+    this.slopes[model] = slope;
+    this.intercepts[model] = meanY - slope * meanX;
+
+    // Errors are measured with predict() itself, so lookups use exactly the
+    // arithmetic the bounds were computed with.
+    int minError = Integer.MAX_VALUE;
+    int maxError = Integer.MIN_VALUE;
+    for (int i = start; i < end; i++) {
+      int error = i - predict(model, values[i]);
+      minError = Math.min(minError, error);
+      maxError = Math.max(maxError, error);
+    }
+    this.minErrors[model] = minError;
+    this.maxErrors[model] = maxError;
+  }
+
+  private int leafOf(double value) {
+    double scaled = (value - this.rootMin) * this.rootScale;
+    int model = scaled <= 0 ? 0 : (int) scaled;
+    return Math.min(model, this.slopes.length - 1);
+  }
+
+  private int predict(int model, double value) {
+    double position = this.intercepts[model] + this.slopes[model] * (value - this.bases[model]);
+    if (position <= 0) {
+      return 0;
+    }
+    return (int) Math.min(position, this.sortedKeys.length - 1);
+  }
+
+  // The first digits chars as a base-radix number of their ranks, with
+  // missing chars as 0 and chars above 0xFF clamped to it. Ranks never
+  // decrease with the char, so the mapping is monotone with
+  // String.compareTo(), and the number stays below 2^53, so it converts to
+  // a double exactly.
+  private double value(String key) {
+    long packed = 0;
+    for (int i = 0; i < this.digits; i++) {
+      int digit = i < key.length() ? this.ranks[Math.min(key.charAt(i), 0xFF)] : 0;
+      packed = packed * this.radix + digit;
+    }
+    return packed;
+  }
+}
@@ -1,5 +1,7 @@
 package main.java.search;
 
+import main.java.utils.HashTable;
+
 public class LinearSearch<T extends Comparable<T>> implements Search<T> {
   @Override
   public int search(T[] array, T target) {
@@ -10,4 +12,40 @@ public class LinearSearch<T extends Comparable<T>> implements Search<T> {
     }
     return -1;
   }
+
+  // One pass over the array for all targets: the distinct targets go into a
+  // hash table, each element is looked up there, and the scan stops as soon
+  // as every target has been found. Like search(), the first occurrence wins.
+  @Override
+  public void searchAll(T[] array, T[] targets, int[] out) {
+    Search.checkBatch(targets, out);
+    HashTable<T, Integer> slots = new HashTable<>(targets.length);
+    int[] slotOf = new int[targets.length];
+    int distinct = 0;
+    for (int i = 0; i < targets.length; i++) {
+      Integer slot = slots.get(targets[i]);
+      if (slot == null) {
+        slot = distinct++;
+        slots.put(targets[i], slot);
+      }
+      slotOf[i] = slot;
+    }
+
+    int[] found = new int[distinct];
+    for (int i = 0; i < distinct; i++) {
+      found[i] = -1;
+    }
+    int remaining = distinct;
+    for (int i = 0; i < array.length && remaining > 0; i++) {
+      Integer slot = slots.get(array[i]);
+      if (slot != null && found[slot] == -1) {
+        found[slot] = i;
+        remaining--;
+      }
+    }
+
+    for (int i = 0; i < targets.length; i++) {
+      out[i] = found[slotOf[i]];
+    }
+  }
 }
@@ -0,0 +1,157 @@
+package main.java.search;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Linear scan of an unsorted array split across a fork/join pool. Ranges are
+// halved until they are at most THRESHOLD elements long and each leaf scans
+// its range in order. search() keeps the lowest match found so far in an
+// AtomicInteger: a leaf stops as soon as its next element lies past it, so
+// once a match is known the chunks after it give up and only the chunks
+// before it keep running, and the result equals LinearSearch's.
+public class ParallelLinearSearch<T extends Comparable<T>> implements Search<T> {
+  private static final int THRESHOLD = 1 << 15;
+  private static final int CHECK_INTERVAL = 1 << 10;
+  private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+  private final ForkJoinPool pool;
+
+  public ParallelLinearSearch() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelLinearSearch(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public int search(T[] array, T target) {
+    if (array.length <= THRESHOLD) {
+      return new LinearSearch<T>().search(array, target);
+    }
+    AtomicInteger best = new AtomicInteger(NOT_FOUND);
+    this.pool.invoke(new FirstMatchTask<>(array, target, 0, array.length, best));
+    int index = best.get();
+    return index == NOT_FOUND ? -1 : index;
+  }
+
+  // Every index whose element compares equal to target, in ascending order.
+  public int[] findAll(T[] array, T target) {
+    return this.pool.invoke(new AllMatchesTask<>(array, target, 0, array.length));
+  }
+
+  private static final class FirstMatchTask<T extends Comparable<T>> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final T[] array;
+    private final T target;
+    private final int from;
+    private final int to;
+    private final AtomicInteger best;
+
+    private FirstMatchTask(T[] array, T target, int from, int to, AtomicInteger best) {
+      this.array = array;
+      this.target = target;
+      this.from = from;
+      this.to = to;
+      this.best = best;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.from >= this.best.get()) {
+        return;
+      }
+      if (this.to - this.from > THRESHOLD) {
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new FirstMatchTask<>(this.array, this.target, this.from, middle, this.best),
+            new FirstMatchTask<>(this.array, this.target, middle, this.to, this.best));
+        return;
+      }
+
+      // The shared minimum is re-read every CHECK_INTERVAL elements rather
+      // than on every one, which keeps the inner loop free of volatile reads.
+      for (int block = this.from; block < this.to; block += CHECK_INTERVAL) {
+        if (block >= this.best.get()) {
+          return;
+        }
+        int end = Math.min(block + CHECK_INTERVAL, this.to);
+        for (int i = block; i < end; i++) {
+          if (this.array[i].compareTo(this.target) == 0) {
+            offer(i);
+            return;
+          }
+        }
+      }
+    }
+
+    private void offer(int index) {
+      int current = this.best.get();
+      while (index < current && !this.best.compareAndSet(current, index)) {
+        current = this.best.get();
+      }
+    }
+  }
+
+  // Leaves return their matches; parents concatenate left before right, so
+  // the result is sorted without a merge.
+  private static final class AllMatchesTask<T extends Comparable<T>> extends RecursiveTask<int[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final T[] array;
+    private final T target;
+    private final int from;
+    private final int to;
+
+    private AllMatchesTask(T[] array, T target, int from, int to) {
+      this.array = array;
+      this.target = target;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected int[] compute() {
+      if (this.to - this.from > THRESHOLD) {
+        int middle = (this.from + this.to) >>> 1;
+        AllMatchesTask<T> left = new AllMatchesTask<>(this.array, this.target, this.from, middle);
+        AllMatchesTask<T> right = new AllMatchesTask<>(this.array, this.target, middle, this.to);
+        left.fork();
+        int[] rightMatches = right.compute();
+        int[] leftMatches = left.join();
+        return concat(leftMatches, rightMatches);
+      }
+
+      int[] matches = new int[4];
+      int count = 0;
+      for (int i = this.from; i < this.to; i++) {
+        if (this.array[i].compareTo(this.target) == 0) {
+          if (count == matches.length) {
+            int[] grown = new int[count * 2];
+            System.arraycopy(matches, 0, grown, 0, count);
+            matches = grown;
+          }
+          matches[count++] = i;
+        }
+      }
+      int[] result = new int[count];
+      System.arraycopy(matches, 0, result, 0, count);
+      return result;
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+      if (right.length == 0) {
+        return left;
+      }
+      if (left.length == 0) {
+        return right;
+      }
+      int[] result = new int[left.length + right.length];
+      System.arraycopy(left, 0, result, 0, left.length);
+      System.arraycopy(right, 0, result, left.length, right.length);
+      return result;
+    }
+  }
+}
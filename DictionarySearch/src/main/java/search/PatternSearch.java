@@ -0,0 +1,72 @@
+package main.java.search;
+
+import main.java.utils.ArrayList;
+
+// Wildcard search strategy ("c?t", "*tion", "pre*ed", "[bc]at"): the target
+// is a pattern (see WildcardPattern), matched against a radix tree of the
+// keys so only the branches the pattern can still match are visited. A
+// pattern that starts with a star would have to walk the whole tree, so when
+// its fixed end is longer than its fixed start, the reversed pattern runs
+// against a second tree of reversed keys instead (built on first use).
+public class PatternSearch implements Search<String> {
+  private final RadixTree tree;
+  private RadixTree reversedTree;
+
+  // Indices returned by search() are positions in keys.
+  public PatternSearch(String[] keys) {
+    this(new RadixTree(keys));
+  }
+
+  public PatternSearch(RadixTree tree) {
+    this.tree = tree;
+  }
+
+  // Index of the lexicographically first key matching the pattern, or -1.
+  // Like RadixTree, the array argument is ignored.
+  @Override
+  public int search(String[] array, String pattern) {
+    ArrayList<String> first = findAll(new WildcardPattern(pattern), 1);
+    return first.isEmpty() ? -1 : this.tree.find(first.get(0));
+  }
+
+  // Up to limit keys matching pattern, in lexicographic order.
+  public ArrayList<String> findAll(String pattern, int limit) {
+    return findAll(new WildcardPattern(pattern), limit);
+  }
+
+  public ArrayList<String> findAll(WildcardPattern pattern, int limit) {
+    if (pattern.getAnchoredSuffixLength() <= pattern.getAnchoredPrefixLength()) {
+      return this.tree.match(pattern, limit);
+    }
+
+    // Reversed matches come out in order of their reversed spelling, so all
+    // of them are collected and sorted before the limit applies.
+    ArrayList<String> reversedMatches = reversedTree().match(pattern.reversed(), Integer.MAX_VALUE);
+    String[] matches = new String[reversedMatches.size()];
+    for (int i = 0; i < matches.length; i++) {
+      matches[i] = reverse(reversedMatches.get(i));
+    }
+    new StringSorter().sort(matches);
+    ArrayList<String> results = new ArrayList<>();
+    for (int i = 0; i < matches.length && i < limit; i++) {
+      results.add(matches[i]);
+    }
+    return results;
+  }
+
+  private RadixTree reversedTree() {
+    if (this.reversedTree == null) {
+      RadixTree reversed = new RadixTree();
+      ArrayList<String> keys = this.tree.prefix("", Integer.MAX_VALUE);
+      for (int i = 0; i < keys.size(); i++) {
+        reversed.insert(reverse(keys.get(i)), i);
+      }
+      this.reversedTree = reversed;
+    }
+    return this.reversedTree;
+  }
+
+  private static String reverse(String key) {
+    return new StringBuilder(key).reverse().toString();
+  }
+}
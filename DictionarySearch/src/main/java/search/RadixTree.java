@@ -0,0 +1,255 @@
+package main.java.search;
+
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+
+// Compressed trie (radix tree): every edge carries a string label and every
+// internal node either ends a key or has at least two children, so the tree
+// has at most 2n nodes. Children are kept sorted by their first character,
+// which makes prefix enumeration return keys in lexicographic order.
+public class RadixTree implements Search<String> {
+  private static final class Node {
+    private String label;
+    private int index = -1;
+    private char[] firstChars = new char[0];
+    private Node[] children = new Node[0];
+    private int childCount;
+
+    private Node(String label) {
+      this.label = label;
+    }
+
+    private Node child(char ch) {
+      int position = find(ch);
+      return position >= 0 ? this.children[position] : null;
+    }
+
+    private int find(char ch) {
+      int left = 0;
+      int right = this.childCount - 1;
+      while (left <= right) {
+        int mid = (left + right) >>> 1;
+        if (this.firstChars[mid] < ch) {
+          left = mid + 1;
+        } else if (this.firstChars[mid] > ch) {
+          right = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(left + 1);
+    }
+
+    private void addChild(Node child) {
+      char ch = child.label.charAt(0);
+      int position = find(ch);
+      if (position >= 0) {
+        this.children[position] = child;
+        return;
+      }
+      position = -(position + 1);
+      if (this.childCount == this.children.length) {
+        int newLength = Math.max(2, this.children.length * 2);
+        char[] newFirstChars = new char[newLength];
+        Node[] newChildren = new Node[newLength];
+        System.arraycopy(this.firstChars, 0, newFirstChars, 0, this.childCount);
+        System.arraycopy(this.children, 0, newChildren, 0, this.childCount);
+        this.firstChars = newFirstChars;
+        this.children = newChildren;
+      }
+      System.arraycopy(this.firstChars, position, this.firstChars, position + 1, this.childCount - position);
+      System.arraycopy(this.children, position, this.children, position + 1, this.childCount - position);
+      this.firstChars[position] = ch;
+      this.children[position] = child;
+      this.childCount++;
+    }
+  }
+
+  private final Node root = new Node("");
+  private int size;
+
+  public RadixTree() {
+  }
+
+  // Each key remembers its position in keys, which search() returns.
+  public RadixTree(String[] keys) {
+    for (int i = 0; i < keys.length; i++) {
+      insert(keys[i], i);
+    }
+  }
+
+  // Builds straight from the table without copying its keys into an array;
+  // indices follow the table's iteration order.
+  public RadixTree(ReadOnlySymbolTable<String, ?> dictionary) {
+    dictionary.forEachKey(key -> insert(key, this.size));
+  }
+
+  public void insert(String key, int index) {
+    Node node = this.root;
+    int position = 0;
+
+    while (position < key.length()) {
+      Node child = node.child(key.charAt(position));
+      if (child == null) {
+        Node leaf = new Node(key.substring(position));
+        leaf.index = index;
+        node.addChild(leaf);
+        this.size++;
+        return;
+      }
+
+      String label = child.label;
+      int common = commonPrefixLength(label, key, position);
+      if (common < label.length()) {
+        // Split the edge: the shared part becomes a new inner node.
+        Node middle = new Node(label.substring(0, common));
+        child.label = label.substring(common);
+        middle.addChild(child);
+        node.addChild(middle);
+        child = middle;
+      }
+      node = child;
+      position += common;
+    }
+
+    if (node.index == -1) {
+      this.size++;
+    }
+    node.index = index;
+  }
+
+  // The array argument is ignored: like HashSearch, the structure is built
+  // once and the index recorded at insertion time is returned.
+  @Override
+  public int search(String[] array, String target) {
+    return find(target);
+  }
+
+  public int find(String key) {
+    Node node = this.root;
+    int position = 0;
+    while (position < key.length()) {
+      Node child = node.child(key.charAt(position));
+      if (child == null || !key.startsWith(child.label, position)) {
+        return -1;
+      }
+      node = child;
+      position += child.label.length();
+    }
+    return node.index;
+  }
+
+  public boolean contains(String key) {
+    return find(key) != -1;
+  }
+
+  // Up to limit keys starting with prefix, in lexicographic order. Work is
+  // proportional to the prefix length plus the number of keys returned.
+  public ArrayList<String> prefix(String prefix, int limit) {
+    ArrayList<String> results = new ArrayList<>();
+    Node node = this.root;
+    int position = 0;
+    StringBuilder path = new StringBuilder();
+
+    while (position < prefix.length()) {
+      Node child = node.child(prefix.charAt(position));
+      if (child == null) {
+        return results;
+      }
+      int remaining = prefix.length() - position;
+      if (remaining <= child.label.length()) {
+        // The prefix ends inside (or at the end of) this edge.
+        if (!child.label.startsWith(prefix.substring(position))) {
+          return results;
+        }
+      } else if (!prefix.startsWith(child.label, position)) {
+        return results;
+      }
+      path.append(child.label);
+      node = child;
+      position += child.label.length();
+    }
+
+    collect(node, path, limit, results);
+    return results;
+  }
+
+  // Up to limit keys matching pattern, in lexicographic order. The pattern's
+  // automaton runs along every path from the root; a subtree is skipped as
+  // soon as no state is left, and when only literal chars can come next
+  // just those children are looked up. Work follows the part of the tree
+  // the pattern can still match: "pre*ed" only walks below "pre", and
+  // "c?t" stops at depth three.
+  public ArrayList<String> match(WildcardPattern pattern, int limit) {
+    ArrayList<String> results = new ArrayList<>();
+    match(this.root, pattern.start(), pattern, new StringBuilder(), limit, results);
+    return results;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  private void collect(Node node, StringBuilder path, int limit, ArrayList<String> results) {
+    if (results.size() >= limit) {
+      return;
+    }
+    if (node.index != -1) {
+      results.add(path.toString());
+    }
+    for (int i = 0; i < node.childCount && results.size() < limit; i++) {
+      Node child = node.children[i];
+      int length = path.length();
+      path.append(child.label);
+      collect(child, path, limit, results);
+      path.setLength(length);
+    }
+  }
+
+  private void match(Node node, long state, WildcardPattern pattern, StringBuilder path, int limit,
+      ArrayList<String> results) {
+    if (results.size() >= limit) {
+      return;
+    }
+    if (node.index != -1 && pattern.accepts(state)) {
+      results.add(path.toString());
+    }
+    char[] literals = pattern.nextLiterals(state);
+    if (literals == null) {
+      for (int i = 0; i < node.childCount && results.size() < limit; i++) {
+        matchChild(node.children[i], state, pattern, path, limit, results);
+      }
+    } else {
+      for (int i = 0; i < literals.length && results.size() < limit; i++) {
+        Node child = node.child(literals[i]);
+        if (child != null) {
+          matchChild(child, state, pattern, path, limit, results);
+        }
+      }
+    }
+  }
+
+  private void matchChild(Node child, long state, WildcardPattern pattern, StringBuilder path, int limit,
+      ArrayList<String> results) {
+    String label = child.label;
+    for (int i = 0; i < label.length(); i++) {
+      state = pattern.step(state, label.charAt(i));
+      if (state == 0) {
+        return;
+      }
+    }
+    int length = path.length();
+    path.append(label);
+    match(child, state, pattern, path, limit, results);
+    path.setLength(length);
+  }
+
+  private static int commonPrefixLength(String label, String key, int position) {
+    int limit = Math.min(label.length(), key.length() - position);
+    int i = 0;
+    while (i < limit && label.charAt(i) == key.charAt(position + i)) {
+      i++;
+    }
+    return i;
+  }
+}
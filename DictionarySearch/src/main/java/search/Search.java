@@ -2,4 +2,19 @@ package main.java.search;
 
 public interface Search<T extends Comparable<T>> {
   int search(T[] array, T target);
+
+  // Looks up every target at once; out[i] receives the result for targets[i].
+  // Strategies override this to share work between queries.
+  default void searchAll(T[] array, T[] targets, int[] out) {
+    checkBatch(targets, out);
+    for (int i = 0; i < targets.length; i++) {
+      out[i] = search(array, targets[i]);
+    }
+  }
+
+  static void checkBatch(Object[] targets, int[] out) {
+    if (out.length < targets.length) {
+      throw new IllegalArgumentException("Output array is shorter than the targets");
+    }
+  }
 }
@@ -0,0 +1,157 @@
+package main.java.search;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Three-way radix quicksort (multikey quicksort) for String keys. Each pass
+// partitions on the char at depth d into <, = and > groups; the = group moves
+// on to depth d + 1, so a shared prefix is examined once per pass instead of
+// being re-compared by every compareTo(). Chars compare as unsigned values
+// and a missing char sorts first, which is exactly String.compareTo() order.
+// With a pool, partitions larger than PARALLEL_THRESHOLD are sorted as
+// separate fork/join tasks.
+public class StringSorter {
+  private static final int INSERTION_THRESHOLD = 12;
+  private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  private final ForkJoinPool pool;
+
+  public StringSorter() {
+    this.pool = null;
+  }
+
+  public StringSorter(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public void sort(String[] array) {
+    sort(array, 0, array.length - 1);
+  }
+
+  // Sorts array[left..right], both inclusive, like BinarySearch.sort().
+  public void sort(String[] array, int left, int right) {
+    if (array == null || left >= right) {
+      return;
+    }
+    if (this.pool == null || right - left < PARALLEL_THRESHOLD) {
+      sort(array, left, right, 0);
+    } else {
+      this.pool.invoke(new SortTask(array, left, right, 0));
+    }
+  }
+
+  private static void sort(String[] array, int left, int right, int depth) {
+    while (right - left >= INSERTION_THRESHOLD) {
+      long bounds = partition(array, left, right, depth);
+      int equalStart = (int) (bounds >>> 32);
+      int greaterStart = (int) bounds;
+      sort(array, left, equalStart - 1, depth);
+      if (charAt(array[equalStart], depth) >= 0) {
+        sort(array, equalStart, greaterStart - 1, depth + 1);
+      }
+      left = greaterStart;
+    }
+    insertionSort(array, left, right, depth);
+  }
+
+  // Partitions array[left..right] by the char at depth and returns the start
+  // of the = group (high half) and of the > group (low half). The = group is
+  // never empty, since it holds the pivot key.
+  private static long partition(String[] array, int left, int right, int depth) {
+    swap(array, left, medianOfThree(array, left, left + (right - left) / 2, right, depth));
+    int pivot = charAt(array[left], depth);
+    int lessEnd = left;
+    int greaterStart = right;
+    int i = left + 1;
+    while (i <= greaterStart) {
+      int ch = charAt(array[i], depth);
+      if (ch < pivot) {
+        swap(array, lessEnd++, i++);
+      } else if (ch > pivot) {
+        swap(array, i, greaterStart--);
+      } else {
+        i++;
+      }
+    }
+    return ((long) lessEnd << 32) | (greaterStart + 1);
+  }
+
+  private static int medianOfThree(String[] array, int a, int b, int c, int depth) {
+    int x = charAt(array[a], depth);
+    int y = charAt(array[b], depth);
+    int z = charAt(array[c], depth);
+    if (x < y) {
+      return y < z ? b : (x < z ? c : a);
+    }
+    return x < z ? a : (y < z ? c : b);
+  }
+
+  // The keys in range share their first depth chars, so only the rest is
+  // compared.
+  private static void insertionSort(String[] array, int left, int right, int depth) {
+    for (int i = left + 1; i <= right; i++) {
+      String key = array[i];
+      int j = i - 1;
+      while (j >= left && compareFrom(array[j], key, depth) > 0) {
+        array[j + 1] = array[j];
+        j--;
+      }
+      array[j + 1] = key;
+    }
+  }
+
+  private static int compareFrom(String a, String b, int depth) {
+    int limit = Math.min(a.length(), b.length());
+    for (int i = depth; i < limit; i++) {
+      int difference = a.charAt(i) - b.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return a.length() - b.length();
+  }
+
+  private static int charAt(String key, int depth) {
+    return depth < key.length() ? key.charAt(depth) : -1;
+  }
+
+  private static void swap(String[] array, int i, int j) {
+    String temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  private static final class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] array;
+    private final int left;
+    private final int right;
+    private final int depth;
+
+    private SortTask(String[] array, int left, int right, int depth) {
+      this.array = array;
+      this.left = left;
+      this.right = right;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.right - this.left < PARALLEL_THRESHOLD) {
+        sort(this.array, this.left, this.right, this.depth);
+        return;
+      }
+      long bounds = partition(this.array, this.left, this.right, this.depth);
+      int equalStart = (int) (bounds >>> 32);
+      int greaterStart = (int) bounds;
+      SortTask less = new SortTask(this.array, this.left, equalStart - 1, this.depth);
+      SortTask greater = new SortTask(this.array, greaterStart, this.right, this.depth);
+      if (charAt(this.array[equalStart], this.depth) >= 0) {
+        invokeAll(less, new SortTask(this.array, equalStart, greaterStart - 1, this.depth + 1), greater);
+      } else {
+        invokeAll(less, greater);
+      }
+    }
+  }
+}
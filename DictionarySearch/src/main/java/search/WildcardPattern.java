@@ -0,0 +1,250 @@
+package main.java.search;
+
+// A wildcard pattern compiled to a bit-parallel NFA. Syntax:
+//   ?       any one char
+//   *       any run of chars, including none
+//   [abc]   one of the listed chars; ranges like [a-z]; [^...] or [!...]
+//           negates the class
+//   \x      the char x itself
+// Every other char matches itself. The pattern is a sequence of one-char
+// elements with optional stars between them; state i means "the first i
+// elements matched", and the active states are the set bits of a long.
+// Consuming a char moves each active state i to i + 1 when element i accepts
+// the char, and keeps it at i when a star sits in front of element i. An empty
+// state set means no key with the current prefix can match, which is what
+// lets RadixTree.match() skip whole subtrees.
+public class WildcardPattern {
+  private static final int MAX_ELEMENTS = 62;
+  private static final int ASCII = 128;
+
+  private final String pattern;
+  private final int elementCount;
+  // Per element: the literal char, or -1 for ? and classes.
+  private final int[] literals;
+  // Per class element: sorted inclusive ranges as (low, high) pairs.
+  private final char[][] ranges;
+  private final boolean[] negated;
+  // Bit i set: a star allows state i to consume any char and stay.
+  private final long loops;
+  // Bit i + 1 set in asciiMasks[c]: element i accepts c.
+  private final long[] asciiMasks = new long[ASCII];
+
+  public WildcardPattern(String pattern) {
+    this.pattern = pattern;
+    int[] literals = new int[pattern.length()];
+    char[][] ranges = new char[pattern.length()][];
+    boolean[] negated = new boolean[pattern.length()];
+    long loops = 0;
+    int count = 0;
+
+    int i = 0;
+    while (i < pattern.length()) {
+      char ch = pattern.charAt(i++);
+      if (ch == '*') {
+        loops |= 1L << count;
+        continue;
+      }
+      if (count == MAX_ELEMENTS) {
+        throw new IllegalArgumentException("Pattern has more than " + MAX_ELEMENTS + " chars: " + pattern);
+      }
+      if (ch == '?') {
+        literals[count] = -1;
+        ranges[count] = new char[0];
+        negated[count] = true;
+      } else if (ch == '[') {
+        i = parseClass(pattern, i, count, literals, ranges, negated);
+      } else {
+        if (ch == '\\') {
+          if (i == pattern.length()) {
+            throw new IllegalArgumentException("Pattern ends with an escape: " + pattern);
+          }
+          ch = pattern.charAt(i++);
+        }
+        literals[count] = ch;
+      }
+      count++;
+    }
+
+    this.elementCount = count;
+    this.literals = literals;
+    this.ranges = ranges;
+    this.negated = negated;
+    this.loops = loops;
+    for (int c = 0; c < ASCII; c++) {
+      this.asciiMasks[c] = computeMask((char) c);
+    }
+  }
+
+  // The same elements back to front, used to match reversed keys.
+  private WildcardPattern(WildcardPattern forward) {
+    int count = forward.elementCount;
+    this.pattern = forward.pattern;
+    this.elementCount = count;
+    this.literals = new int[count];
+    this.ranges = new char[count][];
+    this.negated = new boolean[count];
+    long loops = 0;
+    for (int element = 0; element < count; element++) {
+      this.literals[count - 1 - element] = forward.literals[element];
+      this.ranges[count - 1 - element] = forward.ranges[element];
+      this.negated[count - 1 - element] = forward.negated[element];
+    }
+    // A star in front of element i sits in front of element count - i once
+    // the order is reversed.
+    for (int position = 0; position <= count; position++) {
+      if ((forward.loops & (1L << position)) != 0) {
+        loops |= 1L << (count - position);
+      }
+    }
+    this.loops = loops;
+    for (int c = 0; c < ASCII; c++) {
+      this.asciiMasks[c] = computeMask((char) c);
+    }
+  }
+
+  public WildcardPattern reversed() {
+    return new WildcardPattern(this);
+  }
+
+  // Elements before the first star, i.e. chars every match starts with
+  // (possibly through ? or a class).
+  public int getAnchoredPrefixLength() {
+    return this.loops == 0 ? this.elementCount
+        : Math.min(this.elementCount, Long.numberOfTrailingZeros(this.loops));
+  }
+
+  // Elements after the last star.
+  public int getAnchoredSuffixLength() {
+    return this.loops == 0 ? this.elementCount : this.elementCount - (63 - Long.numberOfLeadingZeros(this.loops));
+  }
+
+  public String getPattern() {
+    return this.pattern;
+  }
+
+  // True if the whole of key matches.
+  public boolean matches(String key) {
+    long state = start();
+    for (int i = 0; i < key.length() && state != 0; i++) {
+      state = step(state, key.charAt(i));
+    }
+    return accepts(state);
+  }
+
+  long start() {
+    return 1L;
+  }
+
+  long step(long state, char ch) {
+    long mask = ch < ASCII ? this.asciiMasks[ch] : computeMask(ch);
+    return ((state << 1) & mask) | (state & this.loops);
+  }
+
+  boolean accepts(long state) {
+    return (state & (1L << this.elementCount)) != 0;
+  }
+
+  // The sorted chars that can extend a key in the given state, or null when
+  // any char may (a star is active, or an active element is ? or a class).
+  char[] nextLiterals(long state) {
+    if ((state & this.loops) != 0) {
+      return null;
+    }
+    char[] chars = new char[Long.bitCount(state)];
+    int count = 0;
+    for (long bits = state; bits != 0; bits &= bits - 1) {
+      int element = Long.numberOfTrailingZeros(bits);
+      if (element == this.elementCount) {
+        continue;
+      }
+      if (this.literals[element] < 0) {
+        return null;
+      }
+      // Insertion into the sorted prefix, skipping duplicates.
+      char ch = (char) this.literals[element];
+      int position = count;
+      while (position > 0 && chars[position - 1] > ch) {
+        position--;
+      }
+      if (position > 0 && chars[position - 1] == ch) {
+        continue;
+      }
+      System.arraycopy(chars, position, chars, position + 1, count - position);
+      chars[position] = ch;
+      count++;
+    }
+    char[] result = new char[count];
+    System.arraycopy(chars, 0, result, 0, count);
+    return result;
+  }
+
+  private long computeMask(char ch) {
+    long mask = 0;
+    for (int element = 0; element < this.elementCount; element++) {
+      if (accepts(element, ch)) {
+        mask |= 1L << (element + 1);
+      }
+    }
+    return mask;
+  }
+
+  private boolean accepts(int element, char ch) {
+    if (this.literals[element] >= 0) {
+      return this.literals[element] == ch;
+    }
+    char[] classRanges = this.ranges[element];
+    boolean inClass = false;
+    for (int r = 0; r < classRanges.length && !inClass; r += 2) {
+      inClass = ch >= classRanges[r] && ch <= classRanges[r + 1];
+    }
+    return inClass != this.negated[element];
+  }
+
+  // Parses the class starting after '[' into element and returns the index
+  // after its closing ']'. A ']' right after '[' (or '[^') is a member.
+  private static int parseClass(String pattern, int i, int element, int[] literals, char[][] ranges,
+      boolean[] negated) {
+    literals[element] = -1;
+    if (i < pattern.length() && (pattern.charAt(i) == '^' || pattern.charAt(i) == '!')) {
+      negated[element] = true;
+      i++;
+    }
+    char[] members = new char[8];
+    int count = 0;
+    boolean first = true;
+    while (true) {
+      if (i >= pattern.length()) {
+        throw new IllegalArgumentException("Unclosed [ in pattern: " + pattern);
+      }
+      char low = pattern.charAt(i++);
+      if (low == ']' && !first) {
+        break;
+      }
+      first = false;
+      if (low == '\\' && i < pattern.length()) {
+        low = pattern.charAt(i++);
+      }
+      char high = low;
+      if (i + 1 < pattern.length() && pattern.charAt(i) == '-' && pattern.charAt(i + 1) != ']') {
+        high = pattern.charAt(i + 1);
+        i += 2;
+        if (high == '\\' && i < pattern.length()) {
+          high = pattern.charAt(i++);
+        }
+        if (high < low) {
+          throw new IllegalArgumentException("Bad range " + low + "-" + high + " in pattern: " + pattern);
+        }
+      }
+      if (count + 2 > members.length) {
+        char[] grown = new char[members.length * 2];
+        System.arraycopy(members, 0, grown, 0, count);
+        members = grown;
+      }
+      members[count++] = low;
+      members[count++] = high;
+    }
+    ranges[element] = new char[count];
+    System.arraycopy(members, 0, ranges[element], 0, count);
+    return i;
+  }
+}
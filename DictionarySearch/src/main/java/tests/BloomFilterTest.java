@@ -0,0 +1,69 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.loader.Loader;
+import main.java.search.HashSearch;
+import main.java.utils.BloomFilter;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Builds Bloom filters over the dictionary at several false-positive rates,
+// checks that no dictionary word is rejected, and compares hash lookups of
+// random non-words with and without the filter in front.
+public class BloomFilterTest {
+  private static final int MISSES = 1_000_000;
+
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    double[] rates = { 0.05, 0.01, 0.001 };
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      String[] misses = new String[MISSES];
+      Random random = new Random(3);
+      for (int i = 0; i < MISSES; i++) {
+        // Digits never occur in dictionary words, so these are all misses.
+        misses[i] = "q" + random.nextInt(Integer.MAX_VALUE);
+      }
+
+      HashSearch<String> plain = new HashSearch<>(dicTable);
+      for (double rate : rates) {
+        BloomFilter filter = new BloomFilter(dicTable, rate);
+        HashSearch<String> filtered = new HashSearch<>(dicTable, filter);
+
+        int falseNegatives = 0;
+        for (String key : dicKeys) {
+          if (!filter.mightContain(key)) {
+            falseNegatives++;
+          }
+        }
+        filter.resetStatistics();
+
+        long start = System.nanoTime();
+        for (String miss : misses) {
+          plain.searchInHashTable(miss);
+        }
+        long middle = System.nanoTime();
+        for (String miss : misses) {
+          filtered.searchInHashTable(miss);
+        }
+        long end = System.nanoTime();
+
+        System.out.println(String.format("Rate %.3f: %d bits (%.1f per word), %d hashes, false negatives: %d",
+            rate, filter.getBitCount(), (double) filter.getBitCount() / dicKeys.length, filter.getHashCount(),
+            falseNegatives));
+        System.out.println(String.format("Misses: %d queries, %d rejected by the filter, %d false positives (%.4f)",
+            filter.getQueryCount(), filter.getNegativeCount(), filter.getFalsePositiveCount(),
+            filter.getObservedFalsePositiveRate()));
+        System.out.println(formatter.formatComparison(
+            new String[] { "Hash Search", "Hash Search + Bloom filter" },
+            new Long[] { middle - start, end - middle }));
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.loader.Loader;
+import main.java.search.RadixTree;
+import main.java.utils.LruCache;
+import main.java.utils.SymbolTable;
+import main.java.utils.features.BKTree;
+import main.java.utils.features.WordSuggester;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Replays a Zipf-distributed query stream (a few words asked very often,
+// most rarely) against WordSuggester with and without its result cache, and
+// reports hit rate and evictions for several cache sizes. Arguments: query
+// count (default 20,000) and Zipf exponent (default 1.0).
+public class CacheTest {
+  private static final int VOCABULARY = 5_000;
+
+  public static void main(String[] args) {
+    int queryCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    double exponent = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      RadixTree prefixIndex = new RadixTree(dicTable);
+      BKTree fuzzyIndex = new BKTree(dicTable);
+
+      // Query vocabulary: dictionary words with one letter changed (typos),
+      // ranked at random.
+      Random random = new Random(9);
+      String[] vocabulary = new String[VOCABULARY];
+      for (int i = 0; i < VOCABULARY; i++) {
+        char[] chars = dicKeys[random.nextInt(dicKeys.length)].toCharArray();
+        chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+        vocabulary[i] = new String(chars);
+      }
+      String[] queries = zipfQueries(vocabulary, queryCount, exponent, random);
+
+      WordSuggester uncached = new WordSuggester(dicTable, prefixIndex, fuzzyIndex, 0);
+      long uncachedTime = run(uncached, queries);
+      System.out.println("Queries: " + queryCount + ", vocabulary: " + VOCABULARY + ", Zipf exponent: " + exponent);
+      System.out.println(formatter.formatSummary("No cache", uncachedTime));
+
+      for (int size : new int[] { 64, 256, 1024, 4096 }) {
+        WordSuggester cached = new WordSuggester(dicTable, prefixIndex, fuzzyIndex, size);
+        long cachedTime = run(cached, queries);
+        LruCache<String, ?> cache = cached.getCache();
+        System.out.println(String.format("Cache %5d: hit rate %.3f, %d hits, %d misses, %d evictions",
+            size, cache.getHitRate(), cache.getHitCount(), cache.getMissCount(), cache.getEvictionCount()));
+        System.out.println(formatter.formatComparison(
+            new String[] { "No cache", "LRU cache of " + size },
+            new Long[] { uncachedTime, cachedTime }));
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static long run(WordSuggester suggester, String[] queries) {
+    long start = System.nanoTime();
+    for (String query : queries) {
+      suggester.suggest(query);
+    }
+    return System.nanoTime() - start;
+  }
+
+  // Draws ranks with probability proportional to 1 / rank^exponent by
+  // binary search over the cumulative weights.
+  private static String[] zipfQueries(String[] vocabulary, int count, double exponent, Random random) {
+    double[] cumulative = new double[vocabulary.length];
+    double total = 0;
+    for (int i = 0; i < vocabulary.length; i++) {
+      total += 1.0 / Math.pow(i + 1, exponent);
+      cumulative[i] = total;
+    }
+
+    String[] queries = new String[count];
+    for (int i = 0; i < count; i++) {
+      double target = random.nextDouble() * total;
+      int left = 0;
+      int right = vocabulary.length - 1;
+      while (left < right) {
+        int mid = (left + right) >>> 1;
+        if (cumulative[mid] < target) {
+          left = mid + 1;
+        } else {
+          right = mid;
+        }
+      }
+      queries[i] = vocabulary[left];
+    }
+    return queries;
+  }
+}
@@ -0,0 +1,122 @@
+package main.java.tests;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import main.java.utils.ConcurrentHashTable;
+import main.java.utils.HashTable;
+import main.java.utils.SymbolTable;
+
+// Multi-threaded stress test: reader threads look up preloaded words while
+// writer threads update them and insert/remove extra words. Checks that no
+// preloaded word is ever missing, even while the table resizes, and that the
+// final size is consistent, then
+// prints throughput next to a HashTable guarded by one global lock.
+// Arguments: [readers] [writers] [seconds] [words]
+public class ConcurrentHashTableTest {
+  public static void main(String[] args) throws InterruptedException {
+    int readers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    int words = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+
+    String[] keys = new String[words];
+    for (int i = 0; i < words; i++) {
+      keys[i] = "word" + i;
+    }
+
+    System.out.println(String.format("%d readers, %d writers, %d s, %d words%n", readers, writers, seconds, words));
+    run("ConcurrentHashTable", new ConcurrentHashTable<>(), false, keys, readers, writers, seconds);
+    run("HashTable + global lock", new HashTable<>(), true, keys, readers, writers, seconds);
+  }
+
+  private static void run(String label, SymbolTable<String, String> table, boolean globalLock, String[] keys,
+      int readers, int writers, int seconds) throws InterruptedException {
+    for (String key : keys) {
+      table.put(key, key);
+    }
+
+    AtomicLong reads = new AtomicLong();
+    AtomicLong writes = new AtomicLong();
+    AtomicLong failures = new AtomicLong();
+    AtomicLong extraWords = new AtomicLong();
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+    Thread[] threads = new Thread[readers + writers];
+
+    for (int t = 0; t < readers; t++) {
+      threads[t] = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long count = 0;
+        while (System.nanoTime() < deadline) {
+          for (int i = 0; i < 1024; i++) {
+            String key = keys[random.nextInt(keys.length)];
+            String value = globalLock ? lockedGet(table, key) : table.get(key);
+            if (value == null || !value.startsWith(key)) {
+              failures.incrementAndGet();
+            }
+          }
+          count += 1024;
+        }
+        reads.addAndGet(count);
+      });
+    }
+
+    for (int t = 0; t < writers; t++) {
+      final int writer = t;
+      threads[readers + t] = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long count = 0;
+        long inserted = 0;
+        int next = 0;
+        while (System.nanoTime() < deadline) {
+          String key = keys[random.nextInt(keys.length)];
+          // Every other extra word is removed again, so the table keeps growing
+          // (and resizing) while the readers run.
+          String extra = "extra-" + writer + "-" + next++;
+          String removed = next % 2 == 0 ? "extra-" + writer + "-" + (next - 2) : "";
+          if (globalLock) {
+            synchronized (table) {
+              table.put(key, key + "#" + writer);
+              table.put(extra, extra);
+              if (table.remove(removed) != null) {
+                inserted--;
+              }
+            }
+          } else {
+            table.put(key, key + "#" + writer);
+            table.put(extra, extra);
+            if (table.remove(removed) != null) {
+              inserted--;
+            }
+          }
+          inserted++;
+          count += 3;
+        }
+        writes.addAndGet(count);
+        extraWords.addAndGet(inserted);
+      });
+    }
+
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    long expectedSize = keys.length + extraWords.get();
+    boolean consistent = failures.get() == 0 && table.size() == expectedSize
+        && table.getKeys().length == expectedSize;
+    System.out.println(label);
+    System.out.println(String.format("  Reads:  %,d ops/s", reads.get() / seconds));
+    System.out.println(String.format("  Writes: %,d ops/s", writes.get() / seconds));
+    System.out.println(String.format("  Missing reads: %d, size: %d (expected %d) -> %s%n",
+        failures.get(), table.size(), expectedSize, consistent ? "OK" : "FAILED"));
+  }
+
+  private static String lockedGet(SymbolTable<String, String> table, String key) {
+    synchronized (table) {
+      return table.get(key);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.loader.Loader;
+import main.java.search.DefinitionIndex;
+import main.java.utils.ArrayList;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Builds the definition index while the CSV loads, then compares AND and OR
+// queries of terms taken from random definitions with a scan of every
+// definition, checking that both find the same number of words.
+public class DefinitionIndexTest {
+  private static final int QUERIES = 200;
+
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+
+    try {
+      DefinitionIndex index = new DefinitionIndex();
+      dicLoader.setRecordListener(index::add);
+      long loadStart = System.nanoTime();
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      long loadTime = System.nanoTime() - loadStart;
+      String[] dicKeys = dicTable.getKeys();
+      System.out.println(String.format("Indexed %d definitions, %d terms, %d posting bytes (load + index: %s)",
+          index.size(), index.getTermCount(), index.getPostingBytes(),
+          formatter.formatMilliseconds(loadTime / 1_000_000.0)));
+
+      Random random = new Random(5);
+      String[][] queries = new String[QUERIES][];
+      for (int i = 0; i < QUERIES; i++) {
+        String[] terms = dicTable.get(dicKeys[random.nextInt(dicKeys.length)]).toLowerCase().split("[^\\p{L}\\p{N}]+");
+        queries[i] = new String[] { pick(terms, random), pick(terms, random) };
+      }
+
+      for (boolean matchAll : new boolean[] { true, false }) {
+        long indexed = 0;
+        long scanned = 0;
+        long start = System.nanoTime();
+        for (String[] query : queries) {
+          String text = query[0] + " " + query[1];
+          ArrayList<String> found = matchAll ? index.searchAll(text, Integer.MAX_VALUE)
+              : index.searchAny(text, Integer.MAX_VALUE);
+          indexed += found.size();
+        }
+        long middle = System.nanoTime();
+        for (String[] query : queries) {
+          for (String key : dicKeys) {
+            String definition = " " + dicTable.get(key).toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ") + " ";
+            boolean first = definition.contains(" " + query[0] + " ");
+            boolean second = definition.contains(" " + query[1] + " ");
+            if (matchAll ? first && second : first || second) {
+              scanned++;
+            }
+          }
+        }
+        long end = System.nanoTime();
+
+        System.out.println(String.format("%s queries: %d matches from the index, %d from the scan",
+            matchAll ? "AND" : "OR", indexed, scanned));
+        System.out.println(formatter.formatComparison(
+            new String[] { "Inverted index (BM25)", "Scan of every definition" },
+            new Long[] { middle - start, end - middle }));
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String pick(String[] terms, Random random) {
+    String term;
+    do {
+      term = terms[random.nextInt(terms.length)];
+    } while (term.isEmpty());
+    return term;
+  }
+}
@@ -0,0 +1,100 @@
+package main.java.tests;
+
+import main.java.loader.Loader;
+import main.java.utils.HashTable;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeAnalyzer;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+import main.java.utils.hashing.Fnv1aHash;
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+import main.java.utils.hashing.PolynomialHash;
+import main.java.utils.hashing.WyMixHash;
+
+// Prints the chain-length distribution each hash function produces on the
+// dictionary keys. An optional argument pads the key set with synthetic
+// words (dictionary word + counter) up to that many keys.
+public class HashFunctionTest {
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeAnalyzer analyzer = new ExecutionTimeAnalyzer();
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    HashFunction[] hashFunctions = {
+        new PolynomialHash(),
+        new JavaStringHash(),
+        new Fnv1aHash(),
+        new WyMixHash()
+    };
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.load();
+      String[] keys = dicTable.getKeys();
+      if (args.length > 0) {
+        keys = padKeys(keys, Integer.parseInt(args[0]));
+      }
+      String[] testKeys = keys;
+      System.out.println("Keys: " + testKeys.length + "\n");
+
+      for (HashFunction hashFunction : hashFunctions) {
+        HashTable<String, String> table = new HashTable<>(hashFunction);
+        long buildTime = analyzer.run(() -> {
+          for (String key : testKeys) {
+            table.put(key, key);
+          }
+        });
+        long lookupTime = analyzer.run(() -> {
+          for (String key : testKeys) {
+            table.get(key);
+          }
+        });
+
+        System.out.println(hashFunction.getName());
+        System.out.println(formatter.formatSummary("  Build", buildTime));
+        System.out.println(formatter.formatSummary("  Lookup all", lookupTime));
+        printDistribution(table.getChainLengthDistribution());
+        System.out.println();
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void printDistribution(int[] distribution) {
+    long buckets = 0;
+    long usedBuckets = 0;
+    long entries = 0;
+    long probeCost = 0;
+    for (int length = 0; length < distribution.length; length++) {
+      buckets += distribution[length];
+      if (length > 0) {
+        usedBuckets += distribution[length];
+        entries += (long) length * distribution[length];
+        // A successful lookup of the i-th entry in a chain costs i comparisons.
+        probeCost += (long) distribution[length] * length * (length + 1) / 2;
+      }
+    }
+
+    System.out.println(String.format("  Buckets: %d, used: %d, longest chain: %d",
+        buckets, usedBuckets, distribution.length - 1));
+    System.out.println(String.format("  Average chain (non-empty): %.3f, average hit cost: %.3f",
+        usedBuckets == 0 ? 0.0 : (double) entries / usedBuckets,
+        entries == 0 ? 0.0 : (double) probeCost / entries));
+    for (int length = 0; length < distribution.length; length++) {
+      if (distribution[length] > 0) {
+        System.out.println(String.format("    length %2d: %d", length, distribution[length]));
+      }
+    }
+  }
+
+  private static String[] padKeys(String[] keys, int count) {
+    if (count <= keys.length || keys.length == 0) {
+      return keys;
+    }
+    String[] padded = new String[count];
+    System.arraycopy(keys, 0, padded, 0, keys.length);
+    for (int i = keys.length; i < count; i++) {
+      padded[i] = keys[i % keys.length] + (i / keys.length);
+    }
+    return padded;
+  }
+}
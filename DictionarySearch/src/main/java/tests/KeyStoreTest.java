@@ -0,0 +1,97 @@
+package main.java.tests;
+
+import main.java.loader.Loader;
+import main.java.search.BinarySearch;
+import main.java.search.HashSearch;
+import main.java.utils.ArrayList;
+import main.java.utils.PackedKeyStore;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeAnalyzer;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+import main.java.utils.features.WordSuggester;
+
+// Compares the heap cost per word of a String[] of keys with PackedKeyStore,
+// checks that binary search, hash lookups and suggestions give the same
+// answers on the packed bytes as on the Strings, and times the lookups.
+public class KeyStoreTest {
+  public static void main(String[] args) {
+    Loader<String, String> txtLoader = new Loader<>("DictionarySearch/data/testWords.txt");
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeAnalyzer analyzer = new ExecutionTimeAnalyzer();
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    BinarySearch<String> binarySearch = new BinarySearch<>();
+
+    try {
+      String[] testKeys = txtLoader.load().getKeys();
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      binarySearch.sort(dicKeys, 0, dicKeys.length - 1);
+      PackedKeyStore store = new PackedKeyStore(dicKeys);
+
+      // Estimated with compressed oops and compact Latin-1 strings: a 24-byte
+      // String object, a 16-byte array header padded to 8 bytes, and a 4-byte
+      // reference from the String[].
+      long stringBytes = 0;
+      for (String key : dicKeys) {
+        stringBytes += 24 + ((16 + key.length() + 7) / 8) * 8 + 4;
+      }
+
+      System.out.println("Keys: " + dicKeys.length + " (" + store.getCharset() + ")");
+      System.out.println(String.format("String[] of keys:  %.2f bytes/word", (double) stringBytes / dicKeys.length));
+      System.out.println(String.format("PackedKeyStore:    %.2f bytes/word (%.2fx smaller)",
+          store.getBytesPerKey(), stringBytes / (double) store.getBytesUsed()));
+      System.out.println();
+
+      BinarySearch<String> packedBinarySearch = new BinarySearch<>(store);
+      HashSearch<String> hashSearch = new HashSearch<>(dicTable);
+      HashSearch<String> packedHashSearch = new HashSearch<>(dicTable, null, store);
+      WordSuggester suggester = new WordSuggester(dicTable);
+      WordSuggester packedSuggester = new WordSuggester(dicTable, store);
+
+      // Test words and a prefix of each, so misses and completions are covered.
+      String[] queries = new String[testKeys.length * 2];
+      for (int i = 0; i < testKeys.length; i++) {
+        queries[2 * i] = testKeys[i];
+        queries[2 * i + 1] = testKeys[i].substring(0, (testKeys[i].length() + 1) / 2);
+      }
+      int mismatches = 0;
+      for (String query : queries) {
+        if (binarySearch.search(dicKeys, query) != packedBinarySearch.search(dicKeys, query)
+            || hashSearch.search(dicKeys, query) != packedHashSearch.search(dicKeys, query)
+            || !sameWords(suggester.suggest(query), packedSuggester.suggest(query))
+            || !sameWords(suggester.complete(query, 10), packedSuggester.complete(query, 10))
+            || suggester.hasSuggestions(query) != packedSuggester.hasSuggestions(query)) {
+          mismatches++;
+        }
+      }
+      System.out.println("Packed lookups checked against String lookups: " + queries.length + " queries, "
+          + mismatches + " mismatches");
+      System.out.println();
+
+      int[] out = new int[queries.length];
+      long stringBinaryTime = analyzer.run(() -> binarySearch.searchAll(dicKeys, queries, out));
+      long packedBinaryTime = analyzer.run(() -> packedBinarySearch.searchAll(dicKeys, queries, out));
+      long stringHashTime = analyzer.run(() -> hashSearch.searchAll(dicKeys, queries, out));
+      long packedHashTime = analyzer.run(() -> packedHashSearch.searchAll(dicKeys, queries, out));
+
+      System.out.println(formatter.formatComparison(
+          new String[] { "Binary Search (String[])", "Binary Search (packed)", "Hash Search (table)",
+              "Hash Search (packed)" },
+          new Long[] { stringBinaryTime, packedBinaryTime, stringHashTime, packedHashTime }));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static boolean sameWords(ArrayList<String> a, ArrayList<String> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < a.size(); i++) {
+      if (!a.get(i).equals(b.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
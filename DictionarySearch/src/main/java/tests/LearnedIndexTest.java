@@ -0,0 +1,102 @@
+package main.java.tests;
+
+import main.java.loader.Loader;
+import main.java.search.BinarySearch;
+import main.java.search.LearnedIndexSearch;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Compares LearnedIndexSearch with BinarySearch on the dictionary: key
+// comparisons per lookup and latency, for every dictionary word and for the
+// test words. An optional argument sets the number of leaf models.
+public class LearnedIndexTest {
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) {
+    Loader<String, String> txtLoader = new Loader<>("DictionarySearch/data/testWords.txt");
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    BinarySearch<String> binarySearch = new BinarySearch<>();
+
+    try {
+      String[] testKeys = txtLoader.load().getKeys();
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      binarySearch.sort(dicKeys, 0, dicKeys.length - 1);
+
+      long buildStart = System.nanoTime();
+      LearnedIndexSearch learned = args.length > 0
+          ? new LearnedIndexSearch(dicKeys, Integer.parseInt(args[0]))
+          : new LearnedIndexSearch(dicKeys);
+      long buildTime = System.nanoTime() - buildStart;
+
+      System.out.println("Keys: " + dicKeys.length + ", models: " + learned.getModelCount()
+          + ", built in " + formatter.formatMilliseconds(buildTime / 1_000_000.0));
+      System.out.println(String.format("Error window: %.2f keys on average, %d at most",
+          learned.getAverageWindow(), learned.getMaxWindow()));
+      System.out.println();
+
+      report("All dictionary words", dicKeys, dicKeys, binarySearch, learned, formatter);
+      report("Test words", dicKeys, testKeys, binarySearch, learned, formatter);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void report(String label, String[] dicKeys, String[] queries, BinarySearch<String> binarySearch,
+      LearnedIndexSearch learned, ExecutionTimeFormatter formatter) {
+    long binaryProbes = 0;
+    int mismatches = 0;
+    learned.resetStatistics();
+    for (String query : queries) {
+      binaryProbes += countBinaryProbes(dicKeys, query);
+      if (binarySearch.search(dicKeys, query) != learned.search(dicKeys, query)) {
+        mismatches++;
+      }
+    }
+    double learnedProbes = learned.getAverageProbes();
+
+    long binaryTime = Long.MAX_VALUE;
+    long learnedTime = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (String query : queries) {
+        binarySearch.search(dicKeys, query);
+      }
+      long middle = System.nanoTime();
+      for (String query : queries) {
+        learned.search(dicKeys, query);
+      }
+      long end = System.nanoTime();
+      binaryTime = Math.min(binaryTime, middle - start);
+      learnedTime = Math.min(learnedTime, end - middle);
+    }
+
+    System.out.println(label + ": " + queries.length + " lookups, mismatches: " + mismatches);
+    System.out.println(String.format("Probes per lookup: binary %.2f, learned %.2f",
+        (double) binaryProbes / queries.length, learnedProbes));
+    System.out.println(formatter.formatComparison(
+        new String[] { "Binary Search", "Learned Index Search" },
+        new Long[] { binaryTime, learnedTime }));
+  }
+
+  // Same loop as BinarySearch.search(), counting comparisons.
+  private static int countBinaryProbes(String[] sortedArray, String target) {
+    int left = 0;
+    int right = sortedArray.length - 1;
+    int probes = 0;
+    while (left <= right) {
+      int mid = left + (right - left) / 2;
+      probes++;
+      int comparison = sortedArray[mid].compareTo(target);
+      if (comparison == 0) {
+        return probes;
+      } else if (comparison < 0) {
+        left = mid + 1;
+      } else {
+        right = mid - 1;
+      }
+    }
+    return probes;
+  }
+}
@@ -0,0 +1,61 @@
+package main.java.tests;
+
+import main.java.loader.Loader;
+import main.java.utils.StringHashTable;
+import main.java.utils.analysis.ExecutionTimeAnalyzer;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Compares dictionary startup time of the available CSV loading modes.
+public class LoaderTest {
+  private static final String DICTIONARY_PATH = "DictionarySearch/data/dict.csv";
+
+  public static void main(String[] args) {
+    ExecutionTimeAnalyzer analyzer = new ExecutionTimeAnalyzer();
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    String path = args.length > 0 ? args[0] : DICTIONARY_PATH;
+
+    try {
+      // Warm up every parser once so the JIT does not skew the first mode.
+      new Loader<String, String>(path, new StringHashTable<String>()).loadCsv();
+      new Loader<String, String>(path, new StringHashTable<String>()).loadCsvMapped();
+      new Loader<String, String>(path, new StringHashTable<String>()).loadParallel();
+
+      Loader<String, String> readerLoader = new Loader<>(path, new StringHashTable<String>());
+      long readerTime = analyzer.run(() -> {
+        try {
+          readerLoader.loadCsv();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      StringHashTable<String> mappedTable = new StringHashTable<>();
+      Loader<String, String> mappedLoader = new Loader<>(path, mappedTable);
+      long mappedTime = analyzer.run(() -> {
+        try {
+          mappedLoader.loadCsvMapped();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      Loader<String, String> parallelLoader = new Loader<>(path, new StringHashTable<String>());
+      long parallelTime = analyzer.run(() -> {
+        try {
+          parallelLoader.loadParallel();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      System.out.println("Records: " + mappedTable.size()
+          + ", resizes avoided by pre-sizing: " + mappedLoader.getAvoidedResizes()
+          + ", resizes during load: " + mappedTable.getResizeCount());
+      System.out.println(formatter.formatComparison(
+          new String[] { "FileReader", "Memory-mapped", "Parallel (" + Runtime.getRuntime().availableProcessors() + " threads)" },
+          new Long[] { readerTime, mappedTime, parallelTime }));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
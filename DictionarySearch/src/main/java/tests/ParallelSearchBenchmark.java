@@ -0,0 +1,74 @@
+package main.java.tests;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import main.java.search.LinearSearch;
+import main.java.search.ParallelLinearSearch;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Times LinearSearch against ParallelLinearSearch on an unsorted array of
+// random words, for targets near the start, in the middle, at the end and
+// missing. Arguments: array size (default 20,000,000, which needs about
+// -Xmx3g) and pool parallelism (default: available processors).
+public class ParallelSearchBenchmark {
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+    int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    Random random = new Random(7);
+    String[] words = new String[size];
+    for (int i = 0; i < size; i++) {
+      words[i] = randomWord(random);
+    }
+
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    LinearSearch<String> linearSearch = new LinearSearch<>();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    ParallelLinearSearch<String> parallelSearch = new ParallelLinearSearch<>(pool);
+
+    String[] labels = { "start", "middle", "end", "missing" };
+    String[] targets = { words[size / 100], words[size / 2], words[size - 1], "not-a-word" };
+    System.out.println("Words: " + size + ", parallelism: " + parallelism);
+
+    for (int t = 0; t < targets.length; t++) {
+      String target = targets[t];
+      long linearTime = Long.MAX_VALUE;
+      long parallelTime = Long.MAX_VALUE;
+      int linearIndex = 0;
+      int parallelIndex = 0;
+      for (int round = 0; round < ROUNDS; round++) {
+        long start = System.nanoTime();
+        linearIndex = linearSearch.search(words, target);
+        long middle = System.nanoTime();
+        parallelIndex = parallelSearch.search(words, target);
+        long end = System.nanoTime();
+        linearTime = Math.min(linearTime, middle - start);
+        parallelTime = Math.min(parallelTime, end - middle);
+      }
+
+      System.out.println("Target at " + labels[t] + ": index " + parallelIndex
+          + (linearIndex == parallelIndex ? "" : " (MISMATCH, linear found " + linearIndex + ")"));
+      System.out.println(formatter.formatComparison(
+          new String[] { "Linear Search", "Parallel Linear Search" },
+          new Long[] { linearTime, parallelTime }));
+    }
+
+    long start = System.nanoTime();
+    int[] matches = parallelSearch.findAll(words, targets[1]);
+    long elapsed = System.nanoTime() - start;
+    System.out.println(formatter.formatSummary("findAll (" + matches.length + " matches)", elapsed));
+    pool.shutdown();
+  }
+
+  // Short words, so findAll has a few duplicates to report.
+  private static String randomWord(Random random) {
+    char[] chars = new char[3 + random.nextInt(4)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+}
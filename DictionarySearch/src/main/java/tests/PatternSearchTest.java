@@ -0,0 +1,87 @@
+package main.java.tests;
+
+import java.util.regex.Pattern;
+
+import main.java.loader.Loader;
+import main.java.search.PatternSearch;
+import main.java.search.WildcardPattern;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Runs wildcard patterns through the radix tree and through an equivalent
+// regular expression over every key, checking that both find the same
+// number of words and comparing their times.
+public class PatternSearchTest {
+  private static final int REPEATS = 20;
+
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    String[] patterns = args.length > 0 ? args
+        : new String[] { "c?t", "pre*ed", "[bc]a??", "*tion", "a*b*c", "[!aeiou][aeiou]?" };
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      PatternSearch patternSearch = new PatternSearch(dicKeys);
+
+      for (String pattern : patterns) {
+        WildcardPattern compiled = new WildcardPattern(pattern);
+        Pattern regex = Pattern.compile(toRegex(pattern), Pattern.DOTALL);
+
+        // The first suffix pattern builds the reversed-key tree; keep that
+        // out of the timing.
+        int treeMatches = patternSearch.findAll(compiled, Integer.MAX_VALUE).size();
+        long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+          treeMatches = patternSearch.findAll(compiled, Integer.MAX_VALUE).size();
+        }
+        long middle = System.nanoTime();
+        int scanMatches = 0;
+        for (int i = 0; i < REPEATS; i++) {
+          scanMatches = 0;
+          for (String key : dicKeys) {
+            if (regex.matcher(key).matches()) {
+              scanMatches++;
+            }
+          }
+        }
+        long end = System.nanoTime();
+
+        System.out.println(String.format("Pattern \"%s\": %d matches from the tree, %d from the scan",
+            pattern, treeMatches, scanMatches));
+        System.out.println(formatter.formatComparison(
+            new String[] { "Radix tree + automaton", "Regex over every key" },
+            new Long[] { (middle - start) / REPEATS, (end - middle) / REPEATS }));
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // Same language as the wildcard pattern, for the scan.
+  private static String toRegex(String pattern) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char ch = pattern.charAt(i);
+      if (ch == '*') {
+        regex.append(".*");
+      } else if (ch == '?') {
+        regex.append('.');
+      } else if (ch == '[') {
+        int end = pattern.indexOf(']', i + 2);
+        String members = pattern.substring(i + 1, end);
+        if (members.startsWith("!")) {
+          members = "^" + members.substring(1);
+        }
+        regex.append('[').append(members).append(']');
+        i = end;
+      } else if (ch == '\\' && i + 1 < pattern.length()) {
+        regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+      } else {
+        regex.append(Pattern.quote(String.valueOf(ch)));
+      }
+    }
+    return regex.toString();
+  }
+}
@@ -0,0 +1,133 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.loader.Loader;
+import main.java.search.StringSorter;
+import main.java.utils.ArrayList;
+import main.java.utils.SymbolTable;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+import main.java.utils.features.PhoneticIndex;
+import main.java.utils.phonetic.Metaphone;
+import main.java.utils.phonetic.PhoneticEncoder;
+import main.java.utils.phonetic.Soundex;
+
+// Checks both encoders against known codes, then builds a phonetic index
+// with each and compares bucket lookups of dictionary words and misspellings
+// with a brute-force encode of every key, checking that both return the same
+// words in the same order.
+public class PhoneticIndexTest {
+  private static final int QUERIES = 100;
+  private static final int LIMIT = 5;
+
+  private static final String[][] METAPHONE_CODES = {
+      { "phonetic", "FNTK" }, { "fonetik", "FNTK" }, { "knight", "NT" }, { "thumb", "0M" },
+      { "science", "SNS" }, { "school", "SKL" }, { "laugh", "LK" }, { "wright", "RT" } };
+  private static final String[][] SOUNDEX_CODES = {
+      { "Robert", "R163" }, { "Rupert", "R163" }, { "Rubin", "R150" }, { "Ashcraft", "A261" },
+      { "Tymczak", "T522" }, { "Pfister", "P236" }, { "Honeyman", "H555" } };
+
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+
+    PhoneticEncoder metaphone = new Metaphone();
+    PhoneticEncoder soundex = new Soundex();
+    int wrongCodes = checkCodes(metaphone, METAPHONE_CODES) + checkCodes(soundex, SOUNDEX_CODES);
+    System.out.println("Known codes: " + (METAPHONE_CODES.length + SOUNDEX_CODES.length) + " checked, "
+        + wrongCodes + " wrong");
+    System.out.println();
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      Random random = new Random(6);
+      String[] queries = new String[QUERIES];
+      for (int i = 0; i < QUERIES; i++) {
+        String word = dicKeys[random.nextInt(dicKeys.length)];
+        // Every other query spells c as k, which usually sounds the same.
+        queries[i] = i % 2 == 1 ? word.replace('c', 'k') : word;
+      }
+
+      for (PhoneticEncoder encoder : new PhoneticEncoder[] { metaphone, soundex }) {
+        long buildStart = System.nanoTime();
+        PhoneticIndex index = new PhoneticIndex(dicTable, encoder);
+        long buildTime = System.nanoTime() - buildStart;
+        System.out.println(String.format("%s: %d buckets, largest %d words, built in %s", encoder.getName(),
+            index.getBucketCount(), index.getLargestBucket(), formatter.formatMilliseconds(buildTime / 1_000_000.0)));
+
+        long indexed = 0;
+        long start = System.nanoTime();
+        for (String query : queries) {
+          indexed += index.soundsLike(query).size();
+        }
+        long middle = System.nanoTime();
+        // Brute force: encode every key for every query.
+        ArrayList<String>[] expected = bruteForce(encoder, dicKeys, queries);
+        long end = System.nanoTime();
+
+        int mismatches = 0;
+        for (int i = 0; i < QUERIES; i++) {
+          ArrayList<String> bucket = index.soundsLike(queries[i]);
+          if (!sameWords(bucket, expected[i], Integer.MAX_VALUE)
+              || !sameWords(index.soundsLike(queries[i], LIMIT), expected[i], LIMIT)) {
+            mismatches++;
+          }
+        }
+
+        System.out.println(String.format("  %d queries, %d words found, %d differing from the brute force",
+            QUERIES, indexed, mismatches));
+        System.out.println(formatter.formatComparison(
+            new String[] { "Phonetic index", "Encode every key" },
+            new Long[] { middle - start, end - middle }));
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static int checkCodes(PhoneticEncoder encoder, String[][] cases) {
+    int wrong = 0;
+    for (String[] testCase : cases) {
+      String code = encoder.encode(testCase[0]);
+      if (!code.equals(testCase[1])) {
+        System.out.println(encoder.getName() + "(" + testCase[0] + ") = " + code + ", expected " + testCase[1]);
+        wrong++;
+      }
+    }
+    return wrong;
+  }
+
+  // True if actual holds the first min(limit, expected.size()) words of
+  // expected, in order.
+  private static boolean sameWords(ArrayList<String> actual, ArrayList<String> expected, int limit) {
+    int size = Math.min(limit, expected.size());
+    if (actual.size() != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!actual.get(i).equals(expected.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Keys with the same code as each query, in alphabetical order.
+  private static ArrayList<String>[] bruteForce(PhoneticEncoder encoder, String[] dicKeys, String[] queries) {
+    String[] keys = dicKeys.clone();
+    new StringSorter().sort(keys);
+    @SuppressWarnings("unchecked")
+    ArrayList<String>[] matches = (ArrayList<String>[]) new ArrayList<?>[queries.length];
+    for (int i = 0; i < queries.length; i++) {
+      String code = encoder.encode(queries[i]);
+      matches[i] = new ArrayList<>();
+      for (String key : keys) {
+        if (encoder.encode(key).equals(code)) {
+          matches[i].add(key);
+        }
+      }
+    }
+    return matches;
+  }
+}
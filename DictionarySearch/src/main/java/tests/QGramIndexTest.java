@@ -0,0 +1,91 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.loader.Loader;
+import main.java.utils.SymbolTable;
+import main.java.utils.features.BKTree;
+import main.java.utils.features.QGramIndex;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Builds bigram and trigram indexes over the dictionary, reports their size,
+// and times fuzzy lookups of misspelled words against the BK-tree at
+// distances 1 to 3. The average candidate count shows how much of the
+// dictionary the count filter leaves for the exact check.
+public class QGramIndexTest {
+  private static final int QUERIES = 500;
+
+  public static void main(String[] args) {
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+
+    try {
+      SymbolTable<String, String> dicTable = dicLoader.loadCsvMapped();
+      String[] dicKeys = dicTable.getKeys();
+      String[] queries = new String[QUERIES];
+      Random random = new Random(4);
+      for (int i = 0; i < QUERIES; i++) {
+        queries[i] = misspell(dicKeys[random.nextInt(dicKeys.length)], random);
+      }
+
+      BKTree tree = new BKTree(dicTable);
+      for (int q = 2; q <= 3; q++) {
+        long buildStart = System.nanoTime();
+        QGramIndex index = new QGramIndex(dicTable, q);
+        long buildTime = System.nanoTime() - buildStart;
+        System.out.println(String.format("q = %d: %d grams, %d postings in %d bytes (%.2f bytes each), built in %s",
+            q, index.getGramCount(), index.getPostingCount(), index.getCompressedBytes(),
+            (double) index.getCompressedBytes() / index.getPostingCount(),
+            formatter.formatMilliseconds(buildTime / 1_000_000.0)));
+
+        for (int distance = 1; distance <= 3; distance++) {
+          long candidates = 0;
+          long matches = 0;
+          long treeMatches = 0;
+          for (String query : queries) {
+            candidates += index.candidates(query, index.minShared(query, distance)).length;
+          }
+          long start = System.nanoTime();
+          for (String query : queries) {
+            matches += index.withinDistance(query, distance).size();
+          }
+          long middle = System.nanoTime();
+          for (String query : queries) {
+            treeMatches += tree.withinDistance(query, distance).size();
+          }
+          long end = System.nanoTime();
+
+          // The BK-tree counts a transposition as two edits and includes the
+          // query itself, so its match count differs slightly.
+          System.out.println(String.format("  distance %d: %.1f candidates, %.1f matches per query (BK-tree %.1f)",
+              distance, (double) candidates / QUERIES, (double) matches / QUERIES, (double) treeMatches / QUERIES));
+          System.out.println(formatter.formatComparison(
+              new String[] { "Q-gram index (candidates + check)", "BK-tree" },
+              new Long[] { middle - start, end - middle }));
+        }
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // One random substitution, deletion, insertion or transposition.
+  private static String misspell(String word, Random random) {
+    if (word.length() < 2) {
+      return word + "e";
+    }
+    int position = random.nextInt(word.length() - 1);
+    char letter = (char) ('a' + random.nextInt(26));
+    switch (random.nextInt(4)) {
+      case 0:
+        return word.substring(0, position) + letter + word.substring(position + 1);
+      case 1:
+        return word.substring(0, position) + word.substring(position + 1);
+      case 2:
+        return word.substring(0, position) + letter + word.substring(position);
+      default:
+        return word.substring(0, position) + word.charAt(position + 1) + word.charAt(position)
+            + word.substring(position + 2);
+    }
+  }
+}
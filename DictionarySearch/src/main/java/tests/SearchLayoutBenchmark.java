@@ -0,0 +1,96 @@
+package main.java.tests;
+
+import java.util.Random;
+
+import main.java.search.BinarySearch;
+import main.java.search.EytzingerSearch;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Compares BinarySearch over a sorted String[] with EytzingerSearch on
+// synthetic dictionaries. Sizes are given as arguments (default 10^4 to
+// 10^7 keys); the largest size needs a heap of about 3 GB (-Xmx3g).
+public class SearchLayoutBenchmark {
+  private static final int QUERIES = 1_000_000;
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) {
+    int[] sizes = { 10_000, 100_000, 1_000_000, 10_000_000 };
+    if (args.length > 0) {
+      sizes = new int[args.length];
+      for (int i = 0; i < args.length; i++) {
+        sizes[i] = Integer.parseInt(args[i]);
+      }
+    }
+
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    BinarySearch<String> binarySearch = new BinarySearch<>();
+    Random random = new Random(42);
+
+    for (int size : sizes) {
+      String[] keys = generateKeys(size, random, binarySearch);
+      String[] queries = new String[QUERIES];
+      for (int i = 0; i < QUERIES; i++) {
+        // Half of the queries hit, half are random words that mostly miss.
+        queries[i] = (i & 1) == 0 ? keys[random.nextInt(keys.length)] : randomWord(random);
+      }
+
+      EytzingerSearch eytzinger = new EytzingerSearch(keys);
+      int mismatches = 0;
+      for (String query : queries) {
+        if (binarySearch.search(keys, query) != eytzinger.search(keys, query)) {
+          mismatches++;
+        }
+      }
+
+      long binaryTime = Long.MAX_VALUE;
+      long eytzingerTime = Long.MAX_VALUE;
+      long checksum = 0;
+      for (int round = 0; round < ROUNDS; round++) {
+        long start = System.nanoTime();
+        for (String query : queries) {
+          checksum += binarySearch.search(keys, query);
+        }
+        long middle = System.nanoTime();
+        for (String query : queries) {
+          checksum += eytzinger.search(keys, query);
+        }
+        long end = System.nanoTime();
+        binaryTime = Math.min(binaryTime, middle - start);
+        eytzingerTime = Math.min(eytzingerTime, end - middle);
+      }
+
+      System.out.println("Keys: " + keys.length + ", queries: " + QUERIES + ", mismatches: " + mismatches
+          + " (checksum " + checksum + ")");
+      System.out.println(formatter.formatComparison(
+          new String[] { "Binary Search", "Eytzinger Search" },
+          new Long[] { binaryTime, eytzingerTime }));
+    }
+  }
+
+  // Random lowercase words, sorted and deduplicated.
+  private static String[] generateKeys(int size, Random random, BinarySearch<String> sorter) {
+    String[] words = new String[size];
+    for (int i = 0; i < size; i++) {
+      words[i] = randomWord(random);
+    }
+    sorter.sort(words, 0, words.length - 1);
+
+    int unique = 0;
+    for (int i = 0; i < words.length; i++) {
+      if (unique == 0 || !words[i].equals(words[unique - 1])) {
+        words[unique++] = words[i];
+      }
+    }
+    String[] keys = new String[unique];
+    System.arraycopy(words, 0, keys, 0, unique);
+    return keys;
+  }
+
+  private static String randomWord(Random random) {
+    char[] chars = new char[3 + random.nextInt(10)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,86 @@
+package main.java.tests;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import main.java.loader.Loader;
+import main.java.search.BinarySearch;
+import main.java.search.StringSorter;
+import main.java.utils.analysis.ExecutionTimeFormatter;
+
+// Compares BinarySearch.sort() with StringSorter, sequential and on the
+// common fork/join pool, on the dictionary keys and on synthetic words that
+// share long prefixes. An optional argument sets the synthetic word count
+// (default 1,000,000).
+public class SortBenchmark {
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) {
+    int syntheticSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
+
+    try {
+      run("Dictionary keys", dicLoader.loadCsvMapped().getKeys());
+      run("Words with shared prefixes", sharedPrefixWords(syntheticSize, new Random(11)));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void run(String label, String[] keys) {
+    ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
+    BinarySearch<String> binarySearch = new BinarySearch<>();
+    StringSorter sequential = new StringSorter();
+    StringSorter parallel = new StringSorter(ForkJoinPool.commonPool());
+
+    long quicksortTime = Long.MAX_VALUE;
+    long sequentialTime = Long.MAX_VALUE;
+    long parallelTime = Long.MAX_VALUE;
+    String[] expected = null;
+    int mismatches = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      String[] quicksorted = keys.clone();
+      String[] sequentialSorted = keys.clone();
+      String[] parallelSorted = keys.clone();
+
+      long start = System.nanoTime();
+      binarySearch.sort(quicksorted, 0, quicksorted.length - 1);
+      long afterQuicksort = System.nanoTime();
+      sequential.sort(sequentialSorted);
+      long afterSequential = System.nanoTime();
+      parallel.sort(parallelSorted);
+      long end = System.nanoTime();
+
+      quicksortTime = Math.min(quicksortTime, afterQuicksort - start);
+      sequentialTime = Math.min(sequentialTime, afterSequential - afterQuicksort);
+      parallelTime = Math.min(parallelTime, end - afterSequential);
+      expected = quicksorted;
+      for (int i = 0; i < keys.length; i++) {
+        if (!quicksorted[i].equals(sequentialSorted[i]) || !quicksorted[i].equals(parallelSorted[i])) {
+          mismatches++;
+        }
+      }
+    }
+
+    System.out.println(label + ": " + expected.length + " keys, mismatches: " + mismatches);
+    System.out.println(formatter.formatComparison(
+        new String[] { "Quicksort (compareTo)", "Multikey Quicksort", "Multikey Quicksort (parallel)" },
+        new Long[] { quicksortTime, sequentialTime, parallelTime }));
+  }
+
+  // Words built from a few long stems, the worst case for compareTo().
+  private static String[] sharedPrefixWords(int size, Random random) {
+    String[] stems = { "internationalization", "counterrevolutionary", "electroencephalograph",
+        "incomprehensibilities", "uncharacteristically" };
+    String[] words = new String[size];
+    for (int i = 0; i < size; i++) {
+      StringBuilder word = new StringBuilder(stems[random.nextInt(stems.length)]);
+      int suffixLength = 1 + random.nextInt(8);
+      for (int j = 0; j < suffixLength; j++) {
+        word.append((char) ('a' + random.nextInt(26)));
+      }
+      words[i] = word.toString();
+    }
+    return words;
+  }
+}
@@ -1,19 +1,26 @@
 package main.java.tests;
 
+import java.util.concurrent.ForkJoinPool;
+
 import main.java.loader.Loader;
 import main.java.search.BinarySearch;
+import main.java.search.EytzingerSearch;
 import main.java.search.HashSearch;
 import main.java.search.LinearSearch;
-import main.java.utils.HashTable;
+import main.java.search.RadixTree;
+import main.java.search.StringSorter;
+import main.java.utils.SymbolTable;
 import main.java.utils.analysis.ExecutionTimeAnalyzer;
 import main.java.utils.analysis.ExecutionTimeFormatter;
 
 public class Test {
+  private static final int WARMUP_PASSES = 2000;
+
   public static void main(String[] args) {
     Loader<String, String> txtLoader = new Loader<>("DictionarySearch/data/testWords.txt");
     Loader<String, String> dicLoader = new Loader<>("DictionarySearch/data/dict.csv");
-    HashTable<String, String> testWordsTable;
-    HashTable<String, String> dicTable;
+    SymbolTable<String, String> testWordsTable;
+    SymbolTable<String, String> dicTable;
     ExecutionTimeAnalyzer analyzer = new ExecutionTimeAnalyzer();
     ExecutionTimeFormatter formatter = new ExecutionTimeFormatter();
     BinarySearch<String> binarySearch = new BinarySearch<>();
@@ -25,7 +32,9 @@ public class Test {
       hashSearch = new HashSearch<>(dicTable);
       String[] testKeys = testWordsTable.getKeys();
       String[] dicKeys = dicTable.getKeys();
-      binarySearch.sort(dicKeys, 0, dicKeys.length - 1);
+      new StringSorter(ForkJoinPool.commonPool()).sort(dicKeys);
+      RadixTree radixTree = new RadixTree(dicKeys);
+      EytzingerSearch eytzingerSearch = new EytzingerSearch(dicKeys);
       for (String key : testKeys) {
         // Linear Search Test
         long linearSearchTime = analyzer.run(() -> {
@@ -42,16 +51,92 @@ public class Test {
           hashSearch.search(dicKeys, key);
         });
 
+        // Radix Tree Search Test
+        long radixSearchTime = analyzer.run(() -> {
+          radixTree.search(dicKeys, key);
+        });
+
+        // Eytzinger Search Test
+        long eytzingerSearchTime = analyzer.run(() -> {
+          eytzingerSearch.search(dicKeys, key);
+        });
+
         System.out.println("Key: " + key);
         System.out.println(formatter.formatComparison(
-            new String[] { "Linear Search", "Binary Search", "Hash Search" },
+            new String[] { "Linear Search", "Binary Search", "Hash Search", "Radix Tree Search",
+                "Eytzinger Search" },
             new Long[] {
                 linearSearchTime,
                 binarySearchTime,
-                hashSearchTime
+                hashSearchTime,
+                radixSearchTime,
+                eytzingerSearchTime
             }));
 
       }
+
+      // Batch lookups: every test key in one call per strategy.
+      int[] results = new int[testKeys.length];
+      long linearBatchTime = analyzer.run(() -> {
+        linearSearch.searchAll(dicKeys, testKeys, results);
+      });
+      long binaryBatchTime = analyzer.run(() -> {
+        binarySearch.searchAll(dicKeys, testKeys, results);
+      });
+      long hashBatchTime = analyzer.run(() -> {
+        hashSearch.searchAll(dicKeys, testKeys, results);
+      });
+      long radixBatchTime = analyzer.run(() -> {
+        radixTree.searchAll(dicKeys, testKeys, results);
+      });
+      long eytzingerBatchTime = analyzer.run(() -> {
+        eytzingerSearch.searchAll(dicKeys, testKeys, results);
+      });
+
+      System.out.println("Batch of " + testKeys.length + " keys");
+      System.out.println(formatter.formatComparison(
+          new String[] { "Linear Search", "Binary Search", "Hash Search", "Radix Tree Search",
+              "Eytzinger Search" },
+          new Long[] {
+              linearBatchTime,
+              binaryBatchTime,
+              hashBatchTime,
+              radixBatchTime,
+              eytzingerBatchTime
+          }));
+
+      // Sorted targets take the galloping merge in BinarySearch.searchAll();
+      // its positions must match a binary search per key.
+      String[] sortedKeys = testKeys.clone();
+      new StringSorter().sort(sortedKeys);
+      int[] merged = new int[sortedKeys.length];
+      // Untimed passes first, so neither path is timed before it is compiled.
+      for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+        binarySearch.searchAll(dicKeys, sortedKeys, merged);
+        for (String key : sortedKeys) {
+          binarySearch.search(dicKeys, key);
+        }
+      }
+      long mergeTime = analyzer.run(() -> {
+        binarySearch.searchAll(dicKeys, sortedKeys, merged);
+      });
+      long perKeyTime = analyzer.run(() -> {
+        for (int i = 0; i < sortedKeys.length; i++) {
+          results[i] = binarySearch.search(dicKeys, sortedKeys[i]);
+        }
+      });
+      int mismatches = 0;
+      for (int i = 0; i < sortedKeys.length; i++) {
+        if (merged[i] != results[i]) {
+          mismatches++;
+        }
+      }
+
+      System.out.println("Sorted batch of " + sortedKeys.length + " keys, " + mismatches
+          + " merge results differing from per-key search");
+      System.out.println(formatter.formatComparison(
+          new String[] { "Binary Search (merge)", "Binary Search (per key)" },
+          new Long[] { mergeTime, perKeyTime }));
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -0,0 +1,303 @@
+package main.java.utils;
+
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import main.java.utils.hashing.HashFunction;
+
+// Open-addressing (linear probing) core shared by the String-keyed tables.
+// Keys and cached hashes live in parallel arrays, so there is no per-entry
+// node object and a miss only scans a contiguous run of slots. Subclasses
+// only decide how the value of a slot is stored.
+abstract class AbstractStringHashTable<Value extends Comparable<Value>> implements SymbolTable<String, Value> {
+  static final int DEFAULT_CAPACITY = 16;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private String[] keys;
+  private int[] hashes;
+  private int capacity;
+  private int mask;
+  private int size;
+  private int resizeCount;
+  private final HashFunction hashFunction;
+
+  AbstractStringHashTable(int capacity, HashFunction hashFunction) {
+    this.hashFunction = hashFunction;
+    this.capacity = tableSizeFor(capacity);
+    this.mask = this.capacity - 1;
+    this.keys = new String[this.capacity];
+    this.hashes = new int[this.capacity];
+    this.size = 0;
+  }
+
+  abstract Value valueAt(int slot);
+
+  abstract void storeValue(int slot, Value value);
+
+  // Copies the value of a slot in a table of the same class.
+  abstract void copyValue(AbstractStringHashTable<Value> source, int sourceSlot, int slot);
+
+  abstract void moveValue(int from, int to);
+
+  abstract void clearValue(int slot);
+
+  // Moves every value to newSlots[slot] in storage for newCapacity slots;
+  // empty slots map to -1.
+  abstract void resizeValues(int newCapacity, int[] newSlots);
+
+  @Override
+  public void put(String key, Value value) {
+    storeValue(insert(key, hash(key)), value);
+  }
+
+  // Tables of the same class that share a hash function copy the cached
+  // hashes, so merging never walks the key strings again.
+  @Override
+  @SuppressWarnings("unchecked")
+  public void putAll(ReadOnlySymbolTable<String, Value> other) {
+    if (other.getClass() == getClass() &&
+        ((AbstractStringHashTable<Value>) other).hashFunction.getClass() == this.hashFunction.getClass()) {
+      AbstractStringHashTable<Value> source = (AbstractStringHashTable<Value>) other;
+      reserve(this.size + source.size);
+      for (int i = 0; i < source.capacity; i++) {
+        if (source.keys[i] != null) {
+          copyValue(source, i, insert(source.keys[i], source.hashes[i]));
+        }
+      }
+    } else {
+      reserve(this.size + other.size());
+      other.forEachEntry(this::put);
+    }
+  }
+
+  // Returns the slot now holding key; the caller stores its value there.
+  private int insert(String key, int hash) {
+    ensureCapacity();
+    int index = hash & this.mask;
+
+    while (this.keys[index] != null) {
+      if (this.hashes[index] == hash && this.keys[index].equals(key)) {
+        return index;
+      }
+      index = (index + 1) & this.mask;
+    }
+
+    this.keys[index] = key;
+    this.hashes[index] = hash;
+    this.size++;
+    return index;
+  }
+
+  @Override
+  public Value get(String key) {
+    int index = indexOf(key);
+    return index != -1 ? valueAt(index) : null;
+  }
+
+  @Override
+  public Value remove(String key) {
+    int index = indexOf(key);
+    if (index == -1) {
+      return null;
+    }
+
+    Value removedValue = valueAt(index);
+    this.keys[index] = null;
+    clearValue(index);
+    this.size--;
+
+    // Backward-shift deletion keeps probe runs contiguous without tombstones.
+    int hole = index;
+    int current = (index + 1) & this.mask;
+    while (this.keys[current] != null) {
+      int home = this.hashes[current] & this.mask;
+      if (((current - home) & this.mask) >= ((current - hole) & this.mask)) {
+        this.keys[hole] = this.keys[current];
+        this.hashes[hole] = this.hashes[current];
+        moveValue(current, hole);
+        this.keys[current] = null;
+        clearValue(current);
+        hole = current;
+      }
+      current = (current + 1) & this.mask;
+    }
+    return removedValue;
+  }
+
+  @Override
+  public boolean containsKey(String key) {
+    return indexOf(key) != -1;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  @Override
+  public String[] getKeys() {
+    String[] result = new String[this.size];
+    int index = 0;
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        result[index++] = this.keys[i];
+      }
+    }
+    return result;
+  }
+
+  private int indexOf(String key) {
+    int hash = hash(key);
+    int index = hash & this.mask;
+
+    while (this.keys[index] != null) {
+      if (this.hashes[index] == hash && this.keys[index].equals(key)) {
+        return index;
+      }
+      index = (index + 1) & this.mask;
+    }
+    return -1;
+  }
+
+  public HashFunction getHashFunction() {
+    return this.hashFunction;
+  }
+
+  // Index i holds the number of keys found i slots away from their home slot.
+  public int[] getProbeLengthDistribution() {
+    int longestProbe = 0;
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        longestProbe = Math.max(longestProbe, (i - this.hashes[i]) & this.mask);
+      }
+    }
+
+    int[] distribution = new int[longestProbe + 1];
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        distribution[(i - this.hashes[i]) & this.mask]++;
+      }
+    }
+    return distribution;
+  }
+
+  private int hash(String key) {
+    return this.hashFunction.hash(key);
+  }
+
+  // Grows the table once so that expectedSize entries fit under the 0.75 load
+  // factor. Returns the number of insert-time resizes this avoids.
+  @Override
+  public int reserve(int expectedSize) {
+    int newCapacity = tableSizeFor((int) ((expectedSize * 4L + 2) / 3));
+    if (newCapacity <= this.capacity) {
+      return 0;
+    }
+    int avoidedResizes = Integer.numberOfTrailingZeros(newCapacity) - Integer.numberOfTrailingZeros(this.capacity);
+    resize(newCapacity);
+    return avoidedResizes;
+  }
+
+  public int getResizeCount() {
+    return this.resizeCount;
+  }
+
+  int capacity() {
+    return this.capacity;
+  }
+
+  private void ensureCapacity() {
+    // Keep the load factor at or below 0.75 so probe runs stay short.
+    if ((this.size + 1) * 4L > this.capacity * 3L) {
+      if (this.capacity == MAXIMUM_CAPACITY) {
+        throw new IllegalStateException("Table is full at " + MAXIMUM_CAPACITY + " slots");
+      }
+      resize(this.capacity * 2);
+      this.resizeCount++;
+    }
+  }
+
+  private void resize(int newCapacity) {
+    int newMask = newCapacity - 1;
+    String[] newKeys = new String[newCapacity];
+    int[] newHashes = new int[newCapacity];
+    int[] newSlots = new int[this.capacity];
+
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        int index = this.hashes[i] & newMask;
+        while (newKeys[index] != null) {
+          index = (index + 1) & newMask;
+        }
+        newKeys[index] = this.keys[i];
+        newHashes[index] = this.hashes[i];
+        newSlots[i] = index;
+      } else {
+        newSlots[i] = -1;
+      }
+    }
+    resizeValues(newCapacity, newSlots);
+
+    this.keys = newKeys;
+    this.hashes = newHashes;
+    this.capacity = newCapacity;
+    this.mask = newMask;
+  }
+
+  // Clamped to MAXIMUM_CAPACITY; doubling past it would overflow.
+  private static int tableSizeFor(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    int n = 1;
+    while (n < capacity) {
+      n <<= 1;
+    }
+    return Math.max(n, 2);
+  }
+
+  @Override
+  public void forEachKey(Consumer<? super String> action) {
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        action.accept(this.keys[i]);
+      }
+    }
+  }
+
+  @Override
+  public void forEachEntry(BiConsumer<? super String, ? super Value> action) {
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        action.accept(this.keys[i], valueAt(i));
+      }
+    }
+  }
+
+  // Splits by slot ranges, so parallel streams can partition the table. The
+  // table must not be modified while the spliterator is in use.
+  @Override
+  public Spliterator<String> keySpliterator() {
+    return new StringSlotSpliterator(this.keys, 0, this.capacity, this.size);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder tableString = new StringBuilder();
+    tableString.append("{");
+    for (int i = 0; i < this.capacity; i++) {
+      if (this.keys[i] != null) {
+        tableString.append("\n  [").append(i).append("]: (").append(this.keys[i]).append(", ")
+            .append(valueAt(i)).append(")");
+      }
+    }
+    tableString.append("\n}");
+    return tableString.toString();
+  }
+}
@@ -0,0 +1,168 @@
+package main.java.utils;
+
+// Blocked Bloom filter over String keys. Every key sets all of its bits in a
+// single 512-bit block (one 64-byte cache line), so a query touches one cache
+// line instead of k scattered ones. Blocks fill unevenly, which raises the
+// false-positive rate over a classic filter of the same size, so the filter
+// is grown until the blocked estimate meets the requested rate. Keys are
+// hashed once to 64 bits: the high half picks the block, and each bit
+// position is the top nine bits after another multiplication by an odd
+// constant. (Double hashing inside a 512-bit block measured two to three
+// times the expected rate.)
+//
+// mightContain() == false means the key was never added. Queries are counted
+// in plain fields, so the counters are only exact for one thread.
+public class BloomFilter {
+  private static final int BLOCK_BITS = 512;
+  private static final int BLOCK_LONGS = BLOCK_BITS / 64;
+  private static final long BIT_MULTIPLIER = 0x9E3779B97F4A7C15L;
+  private static final double LN2 = Math.log(2);
+
+  private final long[] bits;
+  private final int blockCount;
+  private final int hashCount;
+  private final double falsePositiveRate;
+  private int size;
+
+  private long queries;
+  private long negatives;
+  private long falsePositives;
+
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+    }
+    int n = Math.max(1, expectedInsertions);
+    long bitCount = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+    int hashCount = hashCountFor(bitCount, n);
+    while (blockedRate(bitCount, n, hashCount) > falsePositiveRate) {
+      bitCount += bitCount / 16 + BLOCK_BITS;
+      hashCount = hashCountFor(bitCount, n);
+    }
+    this.blockCount = (int) Math.max(1, (bitCount + BLOCK_BITS - 1) / BLOCK_BITS);
+    this.bits = new long[this.blockCount * BLOCK_LONGS];
+    this.hashCount = hashCount;
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  public BloomFilter(ReadOnlySymbolTable<String, ?> dictionary, double falsePositiveRate) {
+    this(dictionary.size(), falsePositiveRate);
+    dictionary.forEachKey(this::add);
+  }
+
+  public void add(String key) {
+    long hash = hash64(key);
+    int block = blockOf(hash) * BLOCK_LONGS;
+    for (int i = 0; i < this.hashCount; i++) {
+      hash *= BIT_MULTIPLIER;
+      int bit = (int) (hash >>> (64 - 9));
+      this.bits[block + (bit >>> 6)] |= 1L << bit;
+    }
+    this.size++;
+  }
+
+  public boolean mightContain(String key) {
+    this.queries++;
+    long hash = hash64(key);
+    int block = blockOf(hash) * BLOCK_LONGS;
+    for (int i = 0; i < this.hashCount; i++) {
+      hash *= BIT_MULTIPLIER;
+      int bit = (int) (hash >>> (64 - 9));
+      if ((this.bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+        this.negatives++;
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Called by the structure behind the filter when a key that passed it
+  // turned out to be missing.
+  public void recordFalsePositive() {
+    this.falsePositives++;
+  }
+
+  public long getQueryCount() {
+    return this.queries;
+  }
+
+  // Queries answered by the filter alone (definite misses).
+  public long getNegativeCount() {
+    return this.negatives;
+  }
+
+  public long getFalsePositiveCount() {
+    return this.falsePositives;
+  }
+
+  // Share of the queries that passed the filter but were not in the
+  // dictionary; compare with getConfiguredFalsePositiveRate() for misses.
+  public double getObservedFalsePositiveRate() {
+    long misses = this.negatives + this.falsePositives;
+    return misses == 0 ? 0.0 : (double) this.falsePositives / misses;
+  }
+
+  public double getConfiguredFalsePositiveRate() {
+    return this.falsePositiveRate;
+  }
+
+  public void resetStatistics() {
+    this.queries = 0;
+    this.negatives = 0;
+    this.falsePositives = 0;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public long getBitCount() {
+    return (long) this.bits.length * 64;
+  }
+
+  public int getHashCount() {
+    return this.hashCount;
+  }
+
+  private static int hashCountFor(long bitCount, int n) {
+    return (int) Math.max(1, Math.min(16, Math.round((double) bitCount / n * LN2)));
+  }
+
+  // Expected false-positive rate of a blocked filter: the number of keys in
+  // a block is Poisson distributed, and a block holding j keys answers a
+  // miss wrongly with the classic probability for j keys in BLOCK_BITS bits.
+  private static double blockedRate(long bitCount, int n, int hashCount) {
+    double keysPerBlock = (double) n * BLOCK_BITS / bitCount;
+    double probability = Math.exp(-keysPerBlock);
+    double rate = 0;
+    int limit = (int) (keysPerBlock * 4) + 64;
+    for (int j = 0; j <= limit; j++) {
+      if (j > 0) {
+        probability *= keysPerBlock / j;
+      }
+      double bitSet = 1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double) j * hashCount);
+      rate += probability * Math.pow(bitSet, hashCount);
+    }
+    return rate;
+  }
+
+  private int blockOf(long hash) {
+    return (int) (((hash >>> 32) * this.blockCount) >>> 32);
+  }
+
+  // 64-bit FNV-1a over the chars, finished with the MurmurHash3 mixer so the
+  // high bits used for the block depend on every char.
+  private static long hash64(String key) {
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,319 @@
+package main.java.utils;
+
+import java.lang.reflect.Array;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+
+// Thread-safe chained hash table for one dictionary shared by many threads.
+// Reads take no locks: chains are made of immutable nodes (only the value is
+// volatile), buckets are published through an AtomicReferenceArray and the
+// bucket array itself is swapped through a volatile field, so a reader always
+// walks a consistent chain. Writes lock one of STRIPES locks chosen by the
+// low hash bits; since the capacity never drops below STRIPES, every bucket
+// belongs to exactly one stripe. Resizing takes all stripe locks and copies
+// the chains into a new array while readers keep using the old one.
+public class ConcurrentHashTable<Key extends Comparable<Key>, Value extends Comparable<Value>>
+    implements SymbolTable<Key, Value> {
+  private static final int STRIPES = 64;
+
+  private static final class Node<Key, Value> {
+    private final Key key;
+    private final int hash;
+    private volatile Value value;
+    private final Node<Key, Value> next;
+
+    private Node(Key key, int hash, Value value, Node<Key, Value> next) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  private volatile AtomicReferenceArray<Node<Key, Value>> table;
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+  private final AtomicInteger size = new AtomicInteger();
+  private final HashFunction hashFunction;
+
+  public ConcurrentHashTable() {
+    this(STRIPES, new JavaStringHash());
+  }
+
+  public ConcurrentHashTable(int capacity) {
+    this(capacity, new JavaStringHash());
+  }
+
+  public ConcurrentHashTable(int capacity, HashFunction hashFunction) {
+    this.hashFunction = hashFunction;
+    this.table = new AtomicReferenceArray<>(tableSizeFor(capacity));
+    for (int i = 0; i < STRIPES; i++) {
+      this.locks[i] = new ReentrantLock();
+    }
+  }
+
+  @Override
+  public Value get(Key key) {
+    int hash = hash(key);
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    Node<Key, Value> node = current.get(hash & (current.length() - 1));
+    while (node != null) {
+      if (node.hash == hash && node.key.equals(key)) {
+        return node.value;
+      }
+      node = node.next;
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Key key) {
+    int hash = hash(key);
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    Node<Key, Value> node = current.get(hash & (current.length() - 1));
+    while (node != null) {
+      if (node.hash == hash && node.key.equals(key)) {
+        return true;
+      }
+      node = node.next;
+    }
+    return false;
+  }
+
+  @Override
+  public void put(Key key, Value value) {
+    int hash = hash(key);
+    ReentrantLock lock = this.locks[hash & (STRIPES - 1)];
+    lock.lock();
+    try {
+      AtomicReferenceArray<Node<Key, Value>> current = this.table;
+      int index = hash & (current.length() - 1);
+      Node<Key, Value> head = current.get(index);
+      for (Node<Key, Value> node = head; node != null; node = node.next) {
+        if (node.hash == hash && node.key.equals(key)) {
+          node.value = value;
+          return;
+        }
+      }
+      current.set(index, new Node<>(key, hash, value, head));
+    } finally {
+      lock.unlock();
+    }
+
+    int newSize = this.size.incrementAndGet();
+    if (newSize * 4L > this.table.length() * 3L) {
+      resize(this.table.length() * 2);
+    }
+  }
+
+  @Override
+  public void putAll(ReadOnlySymbolTable<Key, Value> other) {
+    reserve(this.size.get() + other.size());
+    other.forEachEntry(this::put);
+  }
+
+  // Nodes are immutable, so the nodes in front of the removed one are copied
+  // and the copy is published in a single bucket write.
+  @Override
+  public Value remove(Key key) {
+    int hash = hash(key);
+    ReentrantLock lock = this.locks[hash & (STRIPES - 1)];
+    lock.lock();
+    try {
+      AtomicReferenceArray<Node<Key, Value>> current = this.table;
+      int index = hash & (current.length() - 1);
+      Node<Key, Value> head = current.get(index);
+      Node<Key, Value> target = head;
+      while (target != null && !(target.hash == hash && target.key.equals(key))) {
+        target = target.next;
+      }
+      if (target == null) {
+        return null;
+      }
+
+      Node<Key, Value> newHead = target.next;
+      for (Node<Key, Value> node = head; node != target; node = node.next) {
+        newHead = new Node<>(node.key, node.hash, node.value, newHead);
+      }
+      current.set(index, newHead);
+      this.size.decrementAndGet();
+      return target.value;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int reserve(int expectedSize) {
+    int newCapacity = tableSizeFor((int) ((expectedSize * 4L + 2) / 3));
+    int capacity = this.table.length();
+    if (newCapacity <= capacity) {
+      return 0;
+    }
+    resize(newCapacity);
+    return Integer.numberOfTrailingZeros(newCapacity) - Integer.numberOfTrailingZeros(capacity);
+  }
+
+  @Override
+  public int size() {
+    return this.size.get();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.size.get() == 0;
+  }
+
+  // A weakly consistent snapshot: keys written during the call may or may not
+  // be included.
+  @Override
+  public Key[] getKeys() {
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    ArrayList<Key> collected = new ArrayList<>(Math.max(16, this.size.get()));
+    for (int i = 0; i < current.length(); i++) {
+      for (Node<Key, Value> node = current.get(i); node != null; node = node.next) {
+        collected.add(node.key);
+      }
+    }
+
+    if (collected.isEmpty()) {
+      @SuppressWarnings("unchecked")
+      Key[] empty = (Key[]) new Comparable<?>[0];
+      return empty;
+    }
+
+    @SuppressWarnings("unchecked")
+    Key[] keys = (Key[]) Array.newInstance(collected.get(0).getClass(), collected.size());
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = collected.get(i);
+    }
+    return keys;
+  }
+
+  // Like getKeys(), traversal is weakly consistent and never blocks writers.
+  @Override
+  public void forEachKey(Consumer<? super Key> action) {
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    for (int i = 0; i < current.length(); i++) {
+      for (Node<Key, Value> node = current.get(i); node != null; node = node.next) {
+        action.accept(node.key);
+      }
+    }
+  }
+
+  @Override
+  public void forEachEntry(BiConsumer<? super Key, ? super Value> action) {
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    for (int i = 0; i < current.length(); i++) {
+      for (Node<Key, Value> node = current.get(i); node != null; node = node.next) {
+        action.accept(node.key, node.value);
+      }
+    }
+  }
+
+  @Override
+  public Spliterator<Key> keySpliterator() {
+    AtomicReferenceArray<Node<Key, Value>> current = this.table;
+    return new KeySpliterator<>(current, 0, current.length(), this.size.get());
+  }
+
+  // Splits the bucket array captured at creation; a concurrent resize leaves
+  // it walking the old (still consistent) chains.
+  private static final class KeySpliterator<Key, Value> implements Spliterator<Key> {
+    private final AtomicReferenceArray<Node<Key, Value>> table;
+    private int index;
+    private int fence;
+    private long estimate;
+    private Node<Key, Value> current;
+
+    private KeySpliterator(AtomicReferenceArray<Node<Key, Value>> table, int origin, int fence, long estimate) {
+      this.table = table;
+      this.index = origin;
+      this.fence = fence;
+      this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Key> action) {
+      while (this.current == null && this.index < this.fence) {
+        this.current = this.table.get(this.index++);
+      }
+      if (this.current == null) {
+        return false;
+      }
+      action.accept(this.current.key);
+      this.current = this.current.next;
+      return true;
+    }
+
+    @Override
+    public Spliterator<Key> trySplit() {
+      int middle = (this.index + this.fence) >>> 1;
+      if (middle <= this.index) {
+        return null;
+      }
+      this.estimate >>>= 1;
+      KeySpliterator<Key, Value> upper = new KeySpliterator<>(this.table, middle, this.fence, this.estimate);
+      this.fence = middle;
+      return upper;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.estimate;
+    }
+
+    @Override
+    public int characteristics() {
+      return CONCURRENT | DISTINCT | NONNULL;
+    }
+  }
+
+  public HashFunction getHashFunction() {
+    return this.hashFunction;
+  }
+
+  private void resize(int newCapacity) {
+    for (ReentrantLock lock : this.locks) {
+      lock.lock();
+    }
+    try {
+      AtomicReferenceArray<Node<Key, Value>> current = this.table;
+      if (current.length() >= newCapacity) {
+        // Another writer already grew the table.
+        return;
+      }
+
+      AtomicReferenceArray<Node<Key, Value>> newTable = new AtomicReferenceArray<>(newCapacity);
+      for (int i = 0; i < current.length(); i++) {
+        for (Node<Key, Value> node = current.get(i); node != null; node = node.next) {
+          int index = node.hash & (newCapacity - 1);
+          newTable.set(index, new Node<>(node.key, node.hash, node.value, newTable.get(index)));
+        }
+      }
+      this.table = newTable;
+    } finally {
+      for (int i = STRIPES - 1; i >= 0; i--) {
+        this.locks[i].unlock();
+      }
+    }
+  }
+
+  private int hash(Key key) {
+    return this.hashFunction.hash(key.toString());
+  }
+
+  private static int tableSizeFor(int capacity) {
+    int n = STRIPES;
+    while (n < capacity) {
+      n <<= 1;
+    }
+    return n;
+  }
+}
@@ -0,0 +1,91 @@
+package main.java.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Append-only store of UTF-8 strings in direct (off-heap) ByteBuffer chunks.
+// Each string is addressed by a long handle (chunk index in the high 32 bits,
+// byte offset in the low 32 bits) and is only turned back into a String when
+// get() is called. Replaced values are not reclaimed.
+public class DefinitionArena {
+  public static final long NO_HANDLE = -1L;
+  private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+  private ByteBuffer[] chunks = new ByteBuffer[4];
+  private int chunkCount;
+  private long bytesUsed;
+
+  public long append(String value) {
+    if (value == null) {
+      return NO_HANDLE;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    return append(bytes, 0, bytes.length);
+  }
+
+  // Copies a string from another arena without decoding it.
+  public long appendFrom(DefinitionArena other, long handle) {
+    if (handle == NO_HANDLE) {
+      return NO_HANDLE;
+    }
+    ByteBuffer source = other.chunks[(int) (handle >>> 32)];
+    int offset = (int) handle;
+    int length = source.getInt(offset);
+    byte[] bytes = new byte[length];
+    ByteBuffer view = source.duplicate();
+    view.position(offset + 4);
+    view.get(bytes, 0, length);
+    return append(bytes, 0, length);
+  }
+
+  public String get(long handle) {
+    if (handle == NO_HANDLE) {
+      return null;
+    }
+    ByteBuffer chunk = this.chunks[(int) (handle >>> 32)];
+    int offset = (int) handle;
+    int length = chunk.getInt(offset);
+    byte[] bytes = new byte[length];
+    ByteBuffer view = chunk.duplicate();
+    view.position(offset + 4);
+    view.get(bytes, 0, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public long getBytesUsed() {
+    return this.bytesUsed;
+  }
+
+  public long getBytesReserved() {
+    long reserved = 0;
+    for (int i = 0; i < this.chunkCount; i++) {
+      reserved += this.chunks[i].capacity();
+    }
+    return reserved;
+  }
+
+  private long append(byte[] bytes, int offset, int length) {
+    int recordSize = 4 + length;
+    ByteBuffer chunk = this.chunkCount == 0 ? null : this.chunks[this.chunkCount - 1];
+    if (chunk == null || chunk.remaining() < recordSize) {
+      chunk = newChunk(Math.max(CHUNK_SIZE, recordSize));
+    }
+
+    int position = chunk.position();
+    chunk.putInt(length);
+    chunk.put(bytes, offset, length);
+    this.bytesUsed += recordSize;
+    return ((long) (this.chunkCount - 1) << 32) | position;
+  }
+
+  private ByteBuffer newChunk(int size) {
+    if (this.chunkCount == this.chunks.length) {
+      ByteBuffer[] newChunks = new ByteBuffer[this.chunks.length * 2];
+      System.arraycopy(this.chunks, 0, newChunks, 0, this.chunkCount);
+      this.chunks = newChunks;
+    }
+    ByteBuffer chunk = ByteBuffer.allocateDirect(size);
+    this.chunks[this.chunkCount++] = chunk;
+    return chunk;
+  }
+}
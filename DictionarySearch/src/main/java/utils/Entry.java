@@ -3,6 +3,7 @@ package main.java.utils;
 public class Entry<K extends Comparable<K>, V extends Comparable<V>> {
   private final K key;
   private V value;
+  private int hash;
   private Entry<K, V> next;
 
   public Entry(K key, V value) {
@@ -19,6 +20,10 @@ public class Entry<K extends Comparable<K>, V extends Comparable<V>> {
     return value;
   }
 
+  public int getHash() {
+    return hash;
+  }
+
   public Entry<K, V> getNext() {
     return next;
   }
@@ -31,6 +36,10 @@ public class Entry<K extends Comparable<K>, V extends Comparable<V>> {
     this.value = value;
   }
 
+  public void setHash(int hash) {
+    this.hash = hash;
+  }
+
   @Override
   public String toString() {
     return "(" + key + ", " + value + ")";
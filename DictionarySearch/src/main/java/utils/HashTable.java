@@ -1,28 +1,78 @@
 package main.java.utils;
 
 import java.lang.reflect.Array;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+
+public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Value>> implements SymbolTable<Key, Value> {
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
 
-public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Value>> {
   private Entry<Key, Value>[] table;
-  private int capacity = 16;
+  private int capacity;
   private int size;
+  private int resizeCount;
+  private final HashFunction hashFunction;
 
-  @SuppressWarnings("unchecked")
   public HashTable() {
-    this.table = new Entry[this.capacity];
-    this.size = 0;
+    this(16, new JavaStringHash());
+  }
+
+  public HashTable(HashFunction hashFunction) {
+    this(16, hashFunction);
   }
 
-  @SuppressWarnings("unchecked")
   public HashTable(int capacity) {
-    this.capacity = capacity;
+    this(capacity, new JavaStringHash());
+  }
+
+  @SuppressWarnings("unchecked")
+  public HashTable(int capacity, HashFunction hashFunction) {
+    this.capacity = tableSizeFor(capacity);
+    this.hashFunction = hashFunction;
     this.table = new Entry[this.capacity];
     this.size = 0;
   }
 
+  @Override
+  public void put(Key key, Value value) {
+    put(new Entry<>(key, value));
+  }
+
   public void put(Entry<Key, Value> entry) {
+    insert(entry, hash(entry.getKey()));
+  }
+
+  // Tables that share a hash function copy the cached hashes, so merging never
+  // walks the key strings again.
+  @Override
+  @SuppressWarnings("unchecked")
+  public void putAll(ReadOnlySymbolTable<Key, Value> other) {
+    if (other instanceof HashTable &&
+        ((HashTable<Key, Value>) other).hashFunction.getClass() == this.hashFunction.getClass()) {
+      HashTable<Key, Value> source = (HashTable<Key, Value>) other;
+      reserve(this.size + source.size);
+      for (int i = 0; i < source.capacity; i++) {
+        Entry<Key, Value> current = source.table[i];
+        while (current != null) {
+          insert(new Entry<>(current.getKey(), current.getValue()), current.getHash());
+          current = current.getNext();
+        }
+      }
+    } else {
+      reserve(this.size + other.size());
+      other.forEachEntry(this::put);
+    }
+  }
+
+  private void insert(Entry<Key, Value> entry, int hash) {
     ensureCapacity();
-    int index = hash(entry.getKey());
+    entry.setHash(hash);
+    entry.setNext(null);
+    int index = indexFor(hash);
     Entry<Key, Value> current = this.table[index];
 
     if (current == null) {
@@ -30,7 +80,7 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     } else {
       Entry<Key, Value> prev = null;
       while (current != null) {
-        if (current.getKey().equals(entry.getKey())) {
+        if (current.getHash() == hash && current.getKey().equals(entry.getKey())) {
           current.setValue(entry.getValue());
           return;
         }
@@ -42,11 +92,13 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     this.size++;
   }
 
+  @Override
   public Value get(Key key) {
-    int index = hash(key);
+    int hash = hash(key);
+    int index = indexFor(hash);
     Entry<Key, Value> current = this.table[index];
     while (current != null) {
-      if (current.getKey().equals(key)) {
+      if (current.getHash() == hash && current.getKey().equals(key)) {
         return current.getValue();
       }
       current = current.getNext();
@@ -54,13 +106,15 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     return null;
   }
 
+  @Override
   public Value remove(Key key) {
-    int index = hash(key);
+    int hash = hash(key);
+    int index = indexFor(hash);
     Entry<Key, Value> current = this.table[index];
     Entry<Key, Value> prev = null;
 
     while (current != null) {
-      if (current.getKey().equals(key)) {
+      if (current.getHash() == hash && current.getKey().equals(key)) {
         if (prev == null) {
           this.table[index] = current.getNext();
         } else {
@@ -75,11 +129,13 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     return null;
   }
 
+  @Override
   public boolean containsKey(Key key) {
-    int index = hash(key);
+    int hash = hash(key);
+    int index = indexFor(hash);
     Entry<Key, Value> current = this.table[index];
     while (current != null) {
-      if (current.getKey().equals(key)) {
+      if (current.getHash() == hash && current.getKey().equals(key)) {
         return true;
       }
       current = current.getNext();
@@ -87,54 +143,111 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     return false;
   }
 
+  @Override
   public int size() {
     return this.size;
   }
 
+  @Override
   public boolean isEmpty() {
     return this.size == 0;
   }
 
+  public HashFunction getHashFunction() {
+    return this.hashFunction;
+  }
+
+  // Index i holds the number of buckets whose chain has exactly i entries.
+  public int[] getChainLengthDistribution() {
+    int longestChain = 0;
+    for (int i = 0; i < this.capacity; i++) {
+      longestChain = Math.max(longestChain, chainLength(this.table[i]));
+    }
+
+    int[] distribution = new int[longestChain + 1];
+    for (int i = 0; i < this.capacity; i++) {
+      distribution[chainLength(this.table[i])]++;
+    }
+    return distribution;
+  }
+
+  private int chainLength(Entry<Key, Value> current) {
+    int length = 0;
+    while (current != null) {
+      length++;
+      current = current.getNext();
+    }
+    return length;
+  }
+
   private int hash(Key key) {
-    final long M = 100_003L;
-    String keyStr = key.toString();
-    long hash = 0L;
+    return this.hashFunction.hash(key.toString());
+  }
+
+  private int indexFor(int hash) {
+    return hash & (this.capacity - 1);
+  }
+
+  // Clamped to MAXIMUM_CAPACITY; doubling past it would overflow.
+  private static int tableSizeFor(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    int n = 1;
+    while (n < capacity) {
+      n <<= 1;
+    }
+    return n;
+  }
 
-    for (int i = 0; i < keyStr.length(); i++) {
-      int wi = keyStr.charAt(i);
-      hash = (hash * 31 + wi) % M;
+  // Grows the table once so that expectedSize entries fit without further
+  // doubling. Returns the number of insert-time resizes this avoids.
+  @Override
+  public int reserve(int expectedSize) {
+    int newCapacity = tableSizeFor(expectedSize);
+    if (newCapacity <= this.capacity) {
+      return 0;
     }
+    int avoidedResizes = Integer.numberOfTrailingZeros(newCapacity) - Integer.numberOfTrailingZeros(this.capacity);
+    resize(newCapacity);
+    return avoidedResizes;
+  }
 
-    return (int) (hash % this.capacity);
+  public int getResizeCount() {
+    return this.resizeCount;
   }
 
-  @SuppressWarnings("unchecked")
+  // Past MAXIMUM_CAPACITY the chains just grow longer.
   private void ensureCapacity() {
-    if (this.size >= this.capacity) {
-      int newCapacity = this.capacity * 2;
-      Entry<Key, Value>[] newTable = new Entry[newCapacity];
-
-      for (int i = 0; i < this.capacity; i++) {
-        Entry<Key, Value> currentEntry = this.table[i];
-        while (currentEntry != null) {
-          Entry<Key, Value> nextEntry = currentEntry.getNext();
-
-          int oldCapacity = this.capacity;
-          this.capacity = newCapacity;
-          int newIndex = hash(currentEntry.getKey());
-          this.capacity = oldCapacity;
-
-          currentEntry.setNext(newTable[newIndex]);
-          newTable[newIndex] = currentEntry;
-          currentEntry = nextEntry;
-        }
-      }
+    if (this.size >= this.capacity && this.capacity < MAXIMUM_CAPACITY) {
+      resize(this.capacity * 2);
+      this.resizeCount++;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void resize(int newCapacity) {
+    Entry<Key, Value>[] newTable = new Entry[newCapacity];
+
+    for (int i = 0; i < this.capacity; i++) {
+      Entry<Key, Value> currentEntry = this.table[i];
+      while (currentEntry != null) {
+        Entry<Key, Value> nextEntry = currentEntry.getNext();
+
+        // Cached hashes mean a resize never walks the key strings again.
+        int newIndex = currentEntry.getHash() & (newCapacity - 1);
 
-      this.table = newTable;
-      this.capacity = newCapacity;
+        currentEntry.setNext(newTable[newIndex]);
+        newTable[newIndex] = currentEntry;
+        currentEntry = nextEntry;
+      }
     }
+
+    this.table = newTable;
+    this.capacity = newCapacity;
   }
 
+  @Override
   public Key[] getKeys() {
     Class<?> keyClass = null;
     for (int i = 0; i < this.capacity; i++) {
@@ -163,6 +276,94 @@ public class HashTable<Key extends Comparable<Key>, Value extends Comparable<Val
     return keys;
   }
 
+  @Override
+  public void forEachKey(Consumer<? super Key> action) {
+    for (int i = 0; i < this.capacity; i++) {
+      for (Entry<Key, Value> current = this.table[i]; current != null; current = current.getNext()) {
+        action.accept(current.getKey());
+      }
+    }
+  }
+
+  @Override
+  public void forEachEntry(BiConsumer<? super Key, ? super Value> action) {
+    for (int i = 0; i < this.capacity; i++) {
+      for (Entry<Key, Value> current = this.table[i]; current != null; current = current.getNext()) {
+        action.accept(current.getKey(), current.getValue());
+      }
+    }
+  }
+
+  // Splits by bucket ranges, so parallel streams can partition the table. The
+  // table must not be modified while the spliterator is in use.
+  @Override
+  public Spliterator<Key> keySpliterator() {
+    return new KeySpliterator<>(this.table, 0, this.capacity, this.size);
+  }
+
+  private static final class KeySpliterator<Key extends Comparable<Key>, Value extends Comparable<Value>>
+      implements Spliterator<Key> {
+    private final Entry<Key, Value>[] table;
+    private int index;
+    private int fence;
+    private long estimate;
+    private Entry<Key, Value> current;
+
+    private KeySpliterator(Entry<Key, Value>[] table, int origin, int fence, long estimate) {
+      this.table = table;
+      this.index = origin;
+      this.fence = fence;
+      this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Key> action) {
+      while (this.current == null && this.index < this.fence) {
+        this.current = this.table[this.index++];
+      }
+      if (this.current == null) {
+        return false;
+      }
+      action.accept(this.current.getKey());
+      this.current = this.current.getNext();
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Key> action) {
+      for (; this.current != null; this.current = this.current.getNext()) {
+        action.accept(this.current.getKey());
+      }
+      for (; this.index < this.fence; this.index++) {
+        for (Entry<Key, Value> entry = this.table[this.index]; entry != null; entry = entry.getNext()) {
+          action.accept(entry.getKey());
+        }
+      }
+    }
+
+    @Override
+    public Spliterator<Key> trySplit() {
+      int middle = (this.index + this.fence) >>> 1;
+      if (middle <= this.index) {
+        return null;
+      }
+      this.estimate >>>= 1;
+      KeySpliterator<Key, Value> upper = new KeySpliterator<>(this.table, middle, this.fence, this.estimate);
+      this.fence = middle;
+      return upper;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.estimate;
+    }
+
+    @Override
+    public int characteristics() {
+      return DISTINCT | NONNULL;
+    }
+  }
+
   @Override
   public String toString() {
     StringBuilder tableString = new StringBuilder();
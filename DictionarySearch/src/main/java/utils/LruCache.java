@@ -0,0 +1,193 @@
+package main.java.utils;
+
+// Bounded least-recently-used cache. Entries sit in a chained hash index for
+// lookups and in a doubly linked list ordered by last use; a hit moves the
+// entry to the front, and inserting into a full cache evicts the entry at
+// the back. The bucket array is sized once for the capacity, so the cache
+// never resizes. Not thread-safe, and null keys or values are not allowed
+// (get() returns null for a miss).
+public class LruCache<K, V> {
+  private static final class Node<K, V> {
+    private final K key;
+    private final int hash;
+    private V value;
+    private Node<K, V> nextInBucket;
+    private Node<K, V> previous;
+    private Node<K, V> next;
+
+    private Node(K key, int hash, V value) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+    }
+  }
+
+  private final Node<K, V>[] buckets;
+  private final int mask;
+  private final int capacity;
+  // Sentinel of the circular use list: head.next is the most recently used.
+  private final Node<K, V> head = new Node<>(null, 0, null);
+  private int size;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  @SuppressWarnings("unchecked")
+  public LruCache(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity must not be negative");
+    }
+    this.capacity = capacity;
+    int bucketCount = 1;
+    while (bucketCount * 3L < capacity * 4L) {
+      bucketCount <<= 1;
+    }
+    this.buckets = (Node<K, V>[]) new Node<?, ?>[bucketCount];
+    this.mask = bucketCount - 1;
+    this.head.previous = this.head;
+    this.head.next = this.head;
+  }
+
+  public V get(K key) {
+    Node<K, V> node = find(key, hash(key));
+    if (node == null) {
+      this.misses++;
+      return null;
+    }
+    this.hits++;
+    unlink(node);
+    linkFirst(node);
+    return node.value;
+  }
+
+  public void put(K key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Cached values must not be null");
+    }
+    int hash = hash(key);
+    Node<K, V> node = find(key, hash);
+    if (node != null) {
+      node.value = value;
+      unlink(node);
+      linkFirst(node);
+      return;
+    }
+    if (this.capacity == 0) {
+      return;
+    }
+    if (this.size == this.capacity) {
+      Node<K, V> eldest = this.head.previous;
+      removeFromBucket(eldest);
+      unlink(eldest);
+      this.size--;
+      this.evictions++;
+    }
+
+    node = new Node<>(key, hash, value);
+    int index = hash & this.mask;
+    node.nextInBucket = this.buckets[index];
+    this.buckets[index] = node;
+    linkFirst(node);
+    this.size++;
+  }
+
+  public V remove(K key) {
+    Node<K, V> node = find(key, hash(key));
+    if (node == null) {
+      return null;
+    }
+    removeFromBucket(node);
+    unlink(node);
+    this.size--;
+    return node.value;
+  }
+
+  // Drops every entry, e.g. when the dictionary behind the cache is
+  // reloaded. The statistics are kept.
+  public void clear() {
+    for (int i = 0; i < this.buckets.length; i++) {
+      this.buckets[i] = null;
+    }
+    this.head.previous = this.head;
+    this.head.next = this.head;
+    this.size = 0;
+  }
+
+  public boolean containsKey(K key) {
+    return find(key, hash(key)) != null;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  public long getHitCount() {
+    return this.hits;
+  }
+
+  public long getMissCount() {
+    return this.misses;
+  }
+
+  public long getEvictionCount() {
+    return this.evictions;
+  }
+
+  public double getHitRate() {
+    long requests = this.hits + this.misses;
+    return requests == 0 ? 0.0 : (double) this.hits / requests;
+  }
+
+  public void resetStatistics() {
+    this.hits = 0;
+    this.misses = 0;
+    this.evictions = 0;
+  }
+
+  private Node<K, V> find(K key, int hash) {
+    for (Node<K, V> node = this.buckets[hash & this.mask]; node != null; node = node.nextInBucket) {
+      if (node.hash == hash && node.key.equals(key)) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  private void removeFromBucket(Node<K, V> node) {
+    int index = node.hash & this.mask;
+    Node<K, V> current = this.buckets[index];
+    if (current == node) {
+      this.buckets[index] = node.nextInBucket;
+      return;
+    }
+    while (current.nextInBucket != node) {
+      current = current.nextInBucket;
+    }
+    current.nextInBucket = node.nextInBucket;
+  }
+
+  private void linkFirst(Node<K, V> node) {
+    node.previous = this.head;
+    node.next = this.head.next;
+    this.head.next.previous = node;
+    this.head.next = node;
+  }
+
+  private void unlink(Node<K, V> node) {
+    node.previous.next = node.next;
+    node.next.previous = node.previous;
+  }
+
+  private static int hash(Object key) {
+    if (key == null) {
+      throw new IllegalArgumentException("Cache keys must not be null");
+    }
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,71 @@
+package main.java.utils;
+
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+
+// Open-addressing String table whose values live off-heap in a
+// DefinitionArena. Each slot keeps only the key, its cached hash and a long
+// handle, and a value is decoded into a String only when get() asks for it.
+public class OffHeapStringTable extends AbstractStringHashTable<String> {
+  private long[] handles;
+  private final DefinitionArena arena = new DefinitionArena();
+
+  public OffHeapStringTable() {
+    this(DEFAULT_CAPACITY, new JavaStringHash());
+  }
+
+  public OffHeapStringTable(HashFunction hashFunction) {
+    this(DEFAULT_CAPACITY, hashFunction);
+  }
+
+  public OffHeapStringTable(int capacity) {
+    this(capacity, new JavaStringHash());
+  }
+
+  public OffHeapStringTable(int capacity, HashFunction hashFunction) {
+    super(capacity, hashFunction);
+    this.handles = new long[capacity()];
+  }
+
+  public DefinitionArena getArena() {
+    return this.arena;
+  }
+
+  @Override
+  String valueAt(int slot) {
+    return this.arena.get(this.handles[slot]);
+  }
+
+  @Override
+  void storeValue(int slot, String value) {
+    this.handles[slot] = this.arena.append(value);
+  }
+
+  // Definitions are copied arena to arena as raw bytes.
+  @Override
+  void copyValue(AbstractStringHashTable<String> source, int sourceSlot, int slot) {
+    OffHeapStringTable table = (OffHeapStringTable) source;
+    this.handles[slot] = this.arena.appendFrom(table.arena, table.handles[sourceSlot]);
+  }
+
+  @Override
+  void moveValue(int from, int to) {
+    this.handles[to] = this.handles[from];
+  }
+
+  @Override
+  void clearValue(int slot) {
+    this.handles[slot] = DefinitionArena.NO_HANDLE;
+  }
+
+  @Override
+  void resizeValues(int newCapacity, int[] newSlots) {
+    long[] newHandles = new long[newCapacity];
+    for (int i = 0; i < newSlots.length; i++) {
+      if (newSlots[i] != -1) {
+        newHandles[newSlots[i]] = this.handles[i];
+      }
+    }
+    this.handles = newHandles;
+  }
+}
@@ -0,0 +1,302 @@
+package main.java.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+// Stores all dictionary keys sorted and packed back to back in one byte[],
+// with an int[] of offsets, instead of one String object per word. Keys are
+// Latin-1 encoded when every character fits in a byte (so byte order equals
+// String.compareTo order) and UTF-8 otherwise (code point order). Lookups
+// walk the query's chars against the packed bytes in place, so a query
+// allocates nothing.
+public class PackedKeyStore {
+  private final Charset charset;
+  private final boolean latin1;
+  private final byte[] bytes;
+  private final int[] offsets;
+  private final int[] slots;
+  private final int size;
+
+  public PackedKeyStore(ReadOnlySymbolTable<String, ?> dictionary) {
+    this(dictionary.getKeys());
+  }
+
+  public PackedKeyStore(String[] keys) {
+    this.size = keys.length;
+    this.latin1 = fitsLatin1(keys);
+    this.charset = this.latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+
+    byte[][] encoded = new byte[this.size][];
+    int totalBytes = 0;
+    for (int i = 0; i < this.size; i++) {
+      encoded[i] = keys[i].getBytes(this.charset);
+      totalBytes = Math.addExact(totalBytes, encoded[i].length);
+    }
+
+    int[] order = new int[this.size];
+    for (int i = 0; i < this.size; i++) {
+      order[i] = i;
+    }
+    sort(encoded, order, 0, this.size - 1);
+
+    this.bytes = new byte[totalBytes];
+    this.offsets = new int[this.size + 1];
+    int position = 0;
+    for (int i = 0; i < this.size; i++) {
+      byte[] key = encoded[order[i]];
+      System.arraycopy(key, 0, this.bytes, position, key.length);
+      this.offsets[i] = position;
+      position += key.length;
+    }
+    this.offsets[this.size] = position;
+
+    int capacity = 2;
+    while (capacity * 3L < this.size * 4L) {
+      capacity <<= 1;
+    }
+    this.slots = new int[capacity];
+    for (int i = 0; i < this.size; i++) {
+      int slot = hash(this.bytes, this.offsets[i], this.offsets[i + 1]) & (capacity - 1);
+      while (this.slots[slot] != 0) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      this.slots[slot] = i + 1;
+    }
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  // Sorted position of key found through the hash index, or -1.
+  public int indexOf(String key) {
+    int mask = this.slots.length - 1;
+    int slot = hash(key) & mask;
+    while (this.slots[slot] != 0) {
+      int index = this.slots[slot] - 1;
+      if (compare(index, key, false) == 0) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  // Sorted position of key found by binary search over the packed bytes, or -1.
+  public int binarySearch(String key) {
+    int left = 0;
+    int right = this.size - 1;
+    while (left <= right) {
+      int mid = left + (right - left) / 2;
+      int comparison = compare(mid, key, false);
+      if (comparison == 0) {
+        return mid;
+      } else if (comparison < 0) {
+        left = mid + 1;
+      } else {
+        right = mid - 1;
+      }
+    }
+    return -1;
+  }
+
+  // Keys starting with prefix occupy the sorted positions [start, end).
+  public int prefixStart(String prefix) {
+    return lowerBound(prefix, false);
+  }
+
+  public int prefixEnd(String prefix) {
+    return lowerBound(prefix, true);
+  }
+
+  // Sign of the key at index compared with key, in the store's order.
+  public int compare(int index, String key) {
+    return compare(index, key, false);
+  }
+
+  public int length(int index) {
+    return this.offsets[index + 1] - this.offsets[index];
+  }
+
+  public String getKey(int index) {
+    return new String(this.bytes, this.offsets[index], length(index), this.charset);
+  }
+
+  public Charset getCharset() {
+    return this.charset;
+  }
+
+  // Heap bytes held by the key bytes, the offset table and the hash index.
+  public long getBytesUsed() {
+    return this.bytes.length + this.offsets.length * 4L + this.slots.length * 4L;
+  }
+
+  public double getBytesPerKey() {
+    return this.size == 0 ? 0.0 : (double) getBytesUsed() / this.size;
+  }
+
+  // First position whose key is >= key, or (afterPrefix) the first position
+  // whose key no longer starts with key.
+  private int lowerBound(String key, boolean afterPrefix) {
+    int left = 0;
+    int right = this.size;
+    while (left < right) {
+      int mid = (left + right) >>> 1;
+      int comparison = compare(mid, key, afterPrefix);
+      if (comparison < 0 || (afterPrefix && comparison == 0)) {
+        left = mid + 1;
+      } else {
+        right = mid;
+      }
+    }
+    return left;
+  }
+
+  // Compares the key at index with key char by char (code point by code point
+  // for UTF-8). With prefixOnly, a stored key that starts with key compares
+  // equal. A Latin-1 store never matches a char above 0xFF, which sorts after
+  // every stored byte.
+  private int compare(int index, String key, boolean prefixOnly) {
+    int position = this.offsets[index];
+    int end = this.offsets[index + 1];
+    int length = key.length();
+    int i = 0;
+    if (this.latin1) {
+      while (position < end && i < length) {
+        int difference = (this.bytes[position++] & 0xFF) - key.charAt(i++);
+        if (difference != 0) {
+          return difference;
+        }
+      }
+    } else {
+      while (position < end && i < length) {
+        int b = this.bytes[position] & 0xFF;
+        int stored;
+        if (b < 0x80) {
+          stored = b;
+          position++;
+        } else if (b < 0xE0) {
+          stored = ((b & 0x1F) << 6) | (this.bytes[position + 1] & 0x3F);
+          position += 2;
+        } else if (b < 0xF0) {
+          stored = ((b & 0x0F) << 12) | ((this.bytes[position + 1] & 0x3F) << 6) | (this.bytes[position + 2] & 0x3F);
+          position += 3;
+        } else {
+          stored = ((b & 0x07) << 18) | ((this.bytes[position + 1] & 0x3F) << 12)
+              | ((this.bytes[position + 2] & 0x3F) << 6) | (this.bytes[position + 3] & 0x3F);
+          position += 4;
+        }
+        int query = codePointAt(key, i);
+        i += Character.charCount(query);
+        if (stored != query) {
+          return stored - query;
+        }
+      }
+    }
+    if (i < length) {
+      return -1;
+    }
+    return prefixOnly || position == end ? 0 : 1;
+  }
+
+  // Hashes the bytes key would encode to, without encoding it. A char above
+  // 0xFF in a query against a Latin-1 store hashes to some slot, and
+  // compare() rejects it there.
+  private int hash(String key) {
+    int hash = 0x811C9DC5;
+    if (this.latin1) {
+      for (int i = 0; i < key.length(); i++) {
+        hash = (hash ^ key.charAt(i)) * 0x01000193;
+      }
+      return hash ^ (hash >>> 16);
+    }
+    for (int i = 0; i < key.length(); i++) {
+      int ch = codePointAt(key, i);
+      if (ch < 0x80) {
+        hash = (hash ^ ch) * 0x01000193;
+        continue;
+      }
+      if (ch < 0x800) {
+        hash = (hash ^ (0xC0 | (ch >>> 6))) * 0x01000193;
+      } else if (ch < 0x10000) {
+        hash = (hash ^ (0xE0 | (ch >>> 12))) * 0x01000193;
+        hash = (hash ^ (0x80 | ((ch >>> 6) & 0x3F))) * 0x01000193;
+      } else {
+        hash = (hash ^ (0xF0 | (ch >>> 18))) * 0x01000193;
+        hash = (hash ^ (0x80 | ((ch >>> 12) & 0x3F))) * 0x01000193;
+        hash = (hash ^ (0x80 | ((ch >>> 6) & 0x3F))) * 0x01000193;
+        i++;
+      }
+      hash = (hash ^ (0x80 | (ch & 0x3F))) * 0x01000193;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  // Lone surrogates become '?', as String.getBytes() encodes them.
+  private static int codePointAt(String key, int i) {
+    int ch = key.codePointAt(i);
+    return ch <= 0xFFFF && Character.isSurrogate((char) ch) ? '?' : ch;
+  }
+
+  private static int hash(byte[] data, int from, int to) {
+    int hash = 0x811C9DC5;
+    for (int i = from; i < to; i++) {
+      hash ^= data[i] & 0xFF;
+      hash *= 0x01000193;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean fitsLatin1(String[] keys) {
+    for (String key : keys) {
+      for (int i = 0; i < key.length(); i++) {
+        if (key.charAt(i) > 0xFF) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static int compareBytes(byte[] a, byte[] b) {
+    int limit = Math.min(a.length, b.length);
+    for (int i = 0; i < limit; i++) {
+      int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return a.length - b.length;
+  }
+
+  private static void sort(byte[][] keys, int[] order, int left, int right) {
+    if (left >= right) {
+      return;
+    }
+
+    byte[] pivot = keys[order[left + (right - left) / 2]];
+    int i = left;
+    int j = right;
+    while (i <= j) {
+      while (compareBytes(keys[order[i]], pivot) < 0) {
+        i++;
+      }
+      while (compareBytes(keys[order[j]], pivot) > 0) {
+        j--;
+      }
+      if (i <= j) {
+        int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+        i++;
+        j--;
+      }
+    }
+    if (left < j) {
+      sort(keys, order, left, j);
+    }
+    if (right > i) {
+      sort(keys, order, i, right);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package main.java.utils;
+
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// The lookup and iteration half of SymbolTable. Code that only reads a
+// dictionary takes this type, so read-only tables such as Snapshot can be
+// passed without stubbing out the mutators.
+public interface ReadOnlySymbolTable<Key extends Comparable<Key>, Value extends Comparable<Value>> {
+  Value get(Key key);
+
+  boolean containsKey(Key key);
+
+  int size();
+
+  boolean isEmpty();
+
+  Key[] getKeys();
+
+  void forEachKey(Consumer<? super Key> action);
+
+  void forEachEntry(BiConsumer<? super Key, ? super Value> action);
+
+  Spliterator<Key> keySpliterator();
+}
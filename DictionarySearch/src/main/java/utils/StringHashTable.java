@@ -0,0 +1,65 @@
+package main.java.utils;
+
+import main.java.utils.hashing.HashFunction;
+import main.java.utils.hashing.JavaStringHash;
+
+// Open-addressing (linear probing) table specialised for String keys, with
+// the values in an array parallel to the keys.
+public class StringHashTable<Value extends Comparable<Value>> extends AbstractStringHashTable<Value> {
+  private Value[] values;
+
+  public StringHashTable() {
+    this(DEFAULT_CAPACITY, new JavaStringHash());
+  }
+
+  public StringHashTable(HashFunction hashFunction) {
+    this(DEFAULT_CAPACITY, hashFunction);
+  }
+
+  public StringHashTable(int capacity) {
+    this(capacity, new JavaStringHash());
+  }
+
+  @SuppressWarnings("unchecked")
+  public StringHashTable(int capacity, HashFunction hashFunction) {
+    super(capacity, hashFunction);
+    this.values = (Value[]) new Comparable<?>[capacity()];
+  }
+
+  @Override
+  Value valueAt(int slot) {
+    return this.values[slot];
+  }
+
+  @Override
+  void storeValue(int slot, Value value) {
+    this.values[slot] = value;
+  }
+
+  @Override
+  void copyValue(AbstractStringHashTable<Value> source, int sourceSlot, int slot) {
+    this.values[slot] = ((StringHashTable<Value>) source).values[sourceSlot];
+  }
+
+  @Override
+  void moveValue(int from, int to) {
+    this.values[to] = this.values[from];
+  }
+
+  @Override
+  void clearValue(int slot) {
+    this.values[slot] = null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  void resizeValues(int newCapacity, int[] newSlots) {
+    Value[] newValues = (Value[]) new Comparable<?>[newCapacity];
+    for (int i = 0; i < newSlots.length; i++) {
+      if (newSlots[i] != -1) {
+        newValues[newSlots[i]] = this.values[i];
+      }
+    }
+    this.values = newValues;
+  }
+}
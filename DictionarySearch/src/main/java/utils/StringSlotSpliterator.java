@@ -0,0 +1,64 @@
+package main.java.utils;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Splits a range of an open-addressing key array in half; empty slots are
+// skipped. Used by the String tables for allocation-free parallel traversal.
+class StringSlotSpliterator implements Spliterator<String> {
+  private final String[] keys;
+  private int index;
+  private int fence;
+  private long estimate;
+
+  StringSlotSpliterator(String[] keys, int origin, int fence, long estimate) {
+    this.keys = keys;
+    this.index = origin;
+    this.fence = fence;
+    this.estimate = estimate;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    while (this.index < this.fence) {
+      String key = this.keys[this.index++];
+      if (key != null) {
+        action.accept(key);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super String> action) {
+    for (int i = this.index; i < this.fence; i++) {
+      if (this.keys[i] != null) {
+        action.accept(this.keys[i]);
+      }
+    }
+    this.index = this.fence;
+  }
+
+  @Override
+  public Spliterator<String> trySplit() {
+    int middle = (this.index + this.fence) >>> 1;
+    if (middle <= this.index) {
+      return null;
+    }
+    this.estimate >>>= 1;
+    StringSlotSpliterator upper = new StringSlotSpliterator(this.keys, middle, this.fence, this.estimate);
+    this.fence = middle;
+    return upper;
+  }
+
+  @Override
+  public long estimateSize() {
+    return this.estimate;
+  }
+
+  @Override
+  public int characteristics() {
+    return DISTINCT | NONNULL;
+  }
+}
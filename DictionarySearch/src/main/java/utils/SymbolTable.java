@@ -0,0 +1,12 @@
+package main.java.utils;
+
+public interface SymbolTable<Key extends Comparable<Key>, Value extends Comparable<Value>>
+    extends ReadOnlySymbolTable<Key, Value> {
+  void put(Key key, Value value);
+
+  void putAll(ReadOnlySymbolTable<Key, Value> other);
+
+  Value remove(Key key);
+
+  int reserve(int expectedSize);
+}
@@ -0,0 +1,159 @@
+package main.java.utils.features;
+
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+
+// Burkhard-Keller tree over Levenshtein distance. Each child edge is labelled
+// with the distance between parent and child word, and by the triangle
+// inequality a query within distance d of the target only has to follow
+// edges labelled [dist - d, dist + d], so most of the tree is never visited.
+public class BKTree {
+  private static final class Node {
+    private final String word;
+    private int[] distances = new int[0];
+    private Node[] children = new Node[0];
+    private int childCount;
+    private int maxEdge;
+
+    private Node(String word) {
+      this.word = word;
+    }
+
+    private Node child(int distance) {
+      for (int i = 0; i < this.childCount; i++) {
+        if (this.distances[i] == distance) {
+          return this.children[i];
+        }
+      }
+      return null;
+    }
+
+    private void addChild(int distance, Node child) {
+      if (this.childCount == this.children.length) {
+        int newLength = Math.max(2, this.children.length * 2);
+        int[] newDistances = new int[newLength];
+        Node[] newChildren = new Node[newLength];
+        System.arraycopy(this.distances, 0, newDistances, 0, this.childCount);
+        System.arraycopy(this.children, 0, newChildren, 0, this.childCount);
+        this.distances = newDistances;
+        this.children = newChildren;
+      }
+      this.distances[this.childCount] = distance;
+      this.children[this.childCount] = child;
+      this.childCount++;
+      this.maxEdge = Math.max(this.maxEdge, distance);
+    }
+  }
+
+  private Node root;
+  private int size;
+
+  public BKTree() {
+  }
+
+  public BKTree(ReadOnlySymbolTable<String, ?> dictionary) {
+    dictionary.forEachKey(this::add);
+  }
+
+  public BKTree(String[] words) {
+    for (String word : words) {
+      add(word);
+    }
+  }
+
+  public void add(String word) {
+    if (this.root == null) {
+      this.root = new Node(word);
+      this.size++;
+      return;
+    }
+
+    int[] previous = new int[word.length() + 1];
+    int[] current = new int[word.length() + 1];
+    Node node = this.root;
+    while (true) {
+      int distance = distance(node.word, word, Integer.MAX_VALUE, previous, current);
+      if (distance == 0) {
+        return;
+      }
+      Node child = node.child(distance);
+      if (child == null) {
+        node.addChild(distance, new Node(word));
+        this.size++;
+        return;
+      }
+      node = child;
+    }
+  }
+
+  // Every word whose Levenshtein distance to word is at most maxDistance.
+  public ArrayList<String> withinDistance(String word, int maxDistance) {
+    ArrayList<String> results = new ArrayList<>();
+    if (this.root == null) {
+      return results;
+    }
+
+    int[] previous = new int[word.length() + 1];
+    int[] current = new int[word.length() + 1];
+    Node[] stack = new Node[64];
+    int top = 0;
+    stack[top++] = this.root;
+
+    while (top > 0) {
+      Node node = stack[--top];
+      // The exact distance only matters up to the point where it still selects
+      // a child edge or a result; beyond that the computation stops early.
+      int limit = Math.max(maxDistance, node.maxEdge + maxDistance);
+      int distance = distance(node.word, word, limit, previous, current);
+      if (distance <= maxDistance) {
+        results.add(node.word);
+      }
+
+      for (int i = 0; i < node.childCount; i++) {
+        int edge = node.distances[i];
+        if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+          if (top == stack.length) {
+            Node[] newStack = new Node[stack.length * 2];
+            System.arraycopy(stack, 0, newStack, 0, top);
+            stack = newStack;
+          }
+          stack[top++] = node.children[i];
+        }
+      }
+    }
+    return results;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  // Two-row Levenshtein distance; the rows are sized for b and reused. Returns
+  // limit + 1 as soon as the distance is known to exceed limit.
+  private static int distance(String a, String b, int limit, int[] previous, int[] current) {
+    int n = b.length();
+    if (Math.abs(a.length() - n) > limit) {
+      return limit + 1;
+    }
+    for (int j = 0; j <= n; j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMinimum = i;
+      char ch = a.charAt(i - 1);
+      for (int j = 1; j <= n; j++) {
+        int cost = ch == b.charAt(j - 1) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+        rowMinimum = Math.min(rowMinimum, current[j]);
+      }
+      if (rowMinimum > limit) {
+        return limit + 1;
+      }
+      int[] temp = previous;
+      previous = current;
+      current = temp;
+    }
+    return previous[n];
+  }
+}
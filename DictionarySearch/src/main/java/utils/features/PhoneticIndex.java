@@ -0,0 +1,150 @@
+package main.java.utils.features;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import main.java.search.StringSorter;
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+import main.java.utils.StringHashTable;
+import main.java.utils.phonetic.Metaphone;
+import main.java.utils.phonetic.PhoneticEncoder;
+
+// Buckets of dictionary words that share a phonetic code. The keys are
+// encoded once in a fork/join pass (the expensive part of the build), then
+// grouped: each code maps to a bucket number, and the bucket's word ids sit
+// in one contiguous range of a shared int array. A query encodes the word and
+// does one hash lookup for its bucket, so words spelled nothing alike
+// ("fonetik", "phonetic") are found without scanning the dictionary.
+public class PhoneticIndex {
+  private static final int THRESHOLD = 1 << 12;
+
+  private final PhoneticEncoder encoder;
+  private final String[] words;
+  private final StringHashTable<Integer> buckets;
+  private final int[] bucketStarts;
+  private final int[] members;
+  private int largestBucket;
+
+  public PhoneticIndex(ReadOnlySymbolTable<String, ?> dictionary) {
+    this(dictionary, new Metaphone());
+  }
+
+  public PhoneticIndex(ReadOnlySymbolTable<String, ?> dictionary, PhoneticEncoder encoder) {
+    this(dictionary, encoder, ForkJoinPool.commonPool());
+  }
+
+  public PhoneticIndex(ReadOnlySymbolTable<String, ?> dictionary, PhoneticEncoder encoder, ForkJoinPool pool) {
+    this.encoder = encoder;
+    this.words = dictionary.getKeys();
+    new StringSorter().sort(this.words);
+
+    String[] codes = new String[this.words.length];
+    pool.invoke(new EncodeTask(encoder, this.words, codes, 0, this.words.length));
+
+    // Number the codes in order of first appearance and count their words.
+    this.buckets = new StringHashTable<>(Math.max(16, this.words.length / 2));
+    int[] counts = new int[16];
+    int[] bucketOf = new int[this.words.length];
+    int bucketCount = 0;
+    for (int id = 0; id < codes.length; id++) {
+      Integer bucket = this.buckets.get(codes[id]);
+      if (bucket == null) {
+        bucket = bucketCount++;
+        this.buckets.put(codes[id], bucket);
+        if (bucketCount > counts.length) {
+          int[] grown = new int[counts.length * 2];
+          System.arraycopy(counts, 0, grown, 0, counts.length);
+          counts = grown;
+        }
+      }
+      bucketOf[id] = bucket;
+      counts[bucket]++;
+    }
+
+    // Word ids are visited in ascending order, so every bucket ends up
+    // sorted alphabetically.
+    this.bucketStarts = new int[bucketCount + 1];
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      this.bucketStarts[bucket + 1] = this.bucketStarts[bucket] + counts[bucket];
+      this.largestBucket = Math.max(this.largestBucket, counts[bucket]);
+    }
+    this.members = new int[this.words.length];
+    int[] fill = new int[bucketCount];
+    for (int id = 0; id < bucketOf.length; id++) {
+      int bucket = bucketOf[id];
+      this.members[this.bucketStarts[bucket] + fill[bucket]++] = id;
+    }
+  }
+
+  // Every dictionary word with the same code as word (word itself included
+  // if present), in alphabetical order.
+  public ArrayList<String> soundsLike(String word) {
+    return soundsLike(word, Integer.MAX_VALUE);
+  }
+
+  // The first limit words of that bucket; only those are copied out.
+  public ArrayList<String> soundsLike(String word, int limit) {
+    ArrayList<String> matches = new ArrayList<>();
+    Integer bucket = this.buckets.get(this.encoder.encode(word));
+    if (bucket == null || limit <= 0) {
+      return matches;
+    }
+    int end = (int) Math.min(this.bucketStarts[bucket + 1], (long) this.bucketStarts[bucket] + limit);
+    for (int i = this.bucketStarts[bucket]; i < end; i++) {
+      matches.add(this.words[this.members[i]]);
+    }
+    return matches;
+  }
+
+  public String encode(String word) {
+    return this.encoder.encode(word);
+  }
+
+  public PhoneticEncoder getEncoder() {
+    return this.encoder;
+  }
+
+  public int size() {
+    return this.words.length;
+  }
+
+  public int getBucketCount() {
+    return this.bucketStarts.length - 1;
+  }
+
+  public int getLargestBucket() {
+    return this.largestBucket;
+  }
+
+  private static final class EncodeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final PhoneticEncoder encoder;
+    private final String[] words;
+    private final String[] codes;
+    private final int from;
+    private final int to;
+
+    private EncodeTask(PhoneticEncoder encoder, String[] words, String[] codes, int from, int to) {
+      this.encoder = encoder;
+      this.words = words;
+      this.codes = codes;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > THRESHOLD) {
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new EncodeTask(this.encoder, this.words, this.codes, this.from, middle),
+            new EncodeTask(this.encoder, this.words, this.codes, middle, this.to));
+        return;
+      }
+      for (int i = this.from; i < this.to; i++) {
+        this.codes[i] = this.encoder.encode(this.words[i]);
+      }
+    }
+  }
+}
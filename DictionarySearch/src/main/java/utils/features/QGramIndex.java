@@ -0,0 +1,328 @@
+package main.java.utils.features;
+
+import main.java.search.StringSorter;
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+
+// Inverted index from character q-grams to the words that contain them.
+// Words are padded with q - 1 boundary marks on each side, so every char
+// (including the first and last) is covered by q grams. Each gram's posting
+// list holds the ids of its words in increasing order, stored as varint
+// deltas in one shared byte array.
+//
+// One edit destroys at most q + 1 of a word's distinct grams (q for a
+// substitution, q + 1 for a transposition of neighbours), so a word within
+// distance d of the query shares at least |grams(query)| - (q + 1) * d of
+// them. candidates() merges the query's posting lists and keeps the ids that
+// reach such a count; only those are checked with the exact distance.
+public class QGramIndex {
+  public static final int DEFAULT_Q = 3;
+  private static final int CHAR_BITS = 17;
+
+  private final int q;
+  private final String[] words;
+
+  // Open-addressing map from packed gram to gram id.
+  private final long[] gramKeys;
+  private final int[] gramIds;
+  private final int gramMask;
+  private final int gramCount;
+
+  private final int[] postingStarts;
+  private final int[] postingLengths;
+  private final byte[] postings;
+  private final long postingCount;
+
+  public QGramIndex(ReadOnlySymbolTable<String, ?> dictionary) {
+    this(dictionary, DEFAULT_Q);
+  }
+
+  public QGramIndex(ReadOnlySymbolTable<String, ?> dictionary, int q) {
+    if (q < 1 || q > 3) {
+      throw new IllegalArgumentException("q must be between 1 and 3");
+    }
+    this.q = q;
+    this.words = dictionary.getKeys();
+    new StringSorter().sort(this.words);
+
+    // First pass: number the grams and count the words per gram.
+    int tableSize = 1024;
+    long[] keys = new long[tableSize];
+    int[] ids = new int[tableSize];
+    int[] lengths = new int[64];
+    int distinct = 0;
+    long total = 0;
+    for (String word : this.words) {
+      long[] grams = grams(word);
+      for (long gram : grams) {
+        if ((distinct + 1) * 2L > tableSize) {
+          long[] oldKeys = keys;
+          int[] oldIds = ids;
+          tableSize *= 2;
+          keys = new long[tableSize];
+          ids = new int[tableSize];
+          for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+              int slot = slotOf(keys, oldKeys[i], tableSize - 1);
+              keys[slot] = oldKeys[i];
+              ids[slot] = oldIds[i];
+            }
+          }
+        }
+        int slot = slotOf(keys, gram, tableSize - 1);
+        if (keys[slot] == 0) {
+          keys[slot] = gram;
+          ids[slot] = distinct++;
+          if (distinct > lengths.length) {
+            int[] grown = new int[lengths.length * 2];
+            System.arraycopy(lengths, 0, grown, 0, lengths.length);
+            lengths = grown;
+          }
+        }
+        lengths[ids[slot]]++;
+        total++;
+      }
+    }
+    this.gramKeys = keys;
+    this.gramIds = ids;
+    this.gramMask = tableSize - 1;
+    this.gramCount = distinct;
+    this.postingLengths = new int[distinct];
+    System.arraycopy(lengths, 0, this.postingLengths, 0, distinct);
+    this.postingCount = total;
+
+    // Second pass: gather the ids per gram in word order, then encode.
+    int[] starts = new int[distinct + 1];
+    for (int gram = 0; gram < distinct; gram++) {
+      starts[gram + 1] = starts[gram] + this.postingLengths[gram];
+    }
+    int[] flat = new int[(int) total];
+    int[] fill = new int[distinct];
+    for (int id = 0; id < this.words.length; id++) {
+      for (long gram : grams(this.words[id])) {
+        int gramId = gramId(gram);
+        flat[starts[gramId] + fill[gramId]++] = id;
+      }
+    }
+
+    this.postingStarts = new int[distinct];
+    byte[] encoded = new byte[Math.max(16, (int) total * 2)];
+    int position = 0;
+    for (int gram = 0; gram < distinct; gram++) {
+      this.postingStarts[gram] = position;
+      int previous = 0;
+      for (int i = starts[gram]; i < starts[gram + 1]; i++) {
+        if (position + 5 > encoded.length) {
+          byte[] grown = new byte[encoded.length * 2];
+          System.arraycopy(encoded, 0, grown, 0, position);
+          encoded = grown;
+        }
+        int delta = flat[i] - previous;
+        previous = flat[i];
+        while ((delta & ~0x7F) != 0) {
+          encoded[position++] = (byte) ((delta & 0x7F) | 0x80);
+          delta >>>= 7;
+        }
+        encoded[position++] = (byte) delta;
+      }
+    }
+    this.postings = new byte[position];
+    System.arraycopy(encoded, 0, this.postings, 0, position);
+  }
+
+  // Ids of the words sharing at least minShared distinct grams with word, in
+  // increasing order. minShared <= 0 matches every word.
+  public int[] candidates(String word, int minShared) {
+    if (minShared <= 0) {
+      int[] all = new int[this.words.length];
+      for (int i = 0; i < all.length; i++) {
+        all[i] = i;
+      }
+      return all;
+    }
+
+    // One cursor per query gram that occurs in the index.
+    long[] grams = grams(word);
+    int[] offsets = new int[grams.length];
+    int[] remaining = new int[grams.length];
+    int[] current = new int[grams.length];
+    int[] heap = new int[grams.length];
+    int heapSize = 0;
+    for (long gram : grams) {
+      int gramId = gramId(gram);
+      if (gramId < 0) {
+        continue;
+      }
+      int cursor = heapSize;
+      offsets[cursor] = this.postingStarts[gramId];
+      remaining[cursor] = this.postingLengths[gramId];
+      current[cursor] = 0;
+      advance(cursor, offsets, remaining, current);
+      heap[heapSize++] = cursor;
+    }
+    if (heapSize < minShared) {
+      return new int[0];
+    }
+    for (int i = heapSize / 2 - 1; i >= 0; i--) {
+      siftDown(heap, heapSize, i, current);
+    }
+
+    // Multiway merge: pop every cursor sitting on the smallest id, count
+    // them, and move each one on to its next id.
+    int[] found = new int[16];
+    int foundCount = 0;
+    while (heapSize >= minShared) {
+      int id = current[heap[0]];
+      int shared = 0;
+      while (heapSize > 0 && current[heap[0]] == id) {
+        int cursor = heap[0];
+        shared++;
+        if (remaining[cursor] > 0) {
+          advance(cursor, offsets, remaining, current);
+        } else {
+          heap[0] = heap[--heapSize];
+        }
+        siftDown(heap, heapSize, 0, current);
+      }
+      if (shared >= minShared) {
+        if (foundCount == found.length) {
+          int[] grown = new int[found.length * 2];
+          System.arraycopy(found, 0, grown, 0, foundCount);
+          found = grown;
+        }
+        found[foundCount++] = id;
+      }
+    }
+    int[] result = new int[foundCount];
+    System.arraycopy(found, 0, result, 0, foundCount);
+    return result;
+  }
+
+  // Words within maxDistance (optimal string alignment) of word, the word
+  // itself excluded, in alphabetical order. Only the candidates that pass
+  // the count filter are checked exactly.
+  public ArrayList<String> withinDistance(String word, int maxDistance) {
+    ArrayList<String> matches = new ArrayList<>();
+    int[][] rows = new int[3][word.length() + 1];
+    for (int id : candidates(word, minShared(word, maxDistance))) {
+      String candidate = this.words[id];
+      int distance = RankedSuggester.distance(word, candidate, maxDistance, rows);
+      if (distance > 0 && distance <= maxDistance) {
+        matches.add(candidate);
+      }
+    }
+    return matches;
+  }
+
+  // Fewest distinct grams a word within maxDistance of word must share with it.
+  public int minShared(String word, int maxDistance) {
+    return grams(word).length - (this.q + 1) * maxDistance;
+  }
+
+  public String getWord(int id) {
+    return this.words[id];
+  }
+
+  public int size() {
+    return this.words.length;
+  }
+
+  public int getQ() {
+    return this.q;
+  }
+
+  public int getGramCount() {
+    return this.gramCount;
+  }
+
+  public long getPostingCount() {
+    return this.postingCount;
+  }
+
+  // Size of the encoded posting lists; compare with getPostingCount() * 4
+  // for plain int arrays.
+  public int getCompressedBytes() {
+    return this.postings.length;
+  }
+
+  // Decodes the next id of a cursor's posting list into current[cursor].
+  private void advance(int cursor, int[] offsets, int[] remaining, int[] current) {
+    int position = offsets[cursor];
+    int delta = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = this.postings[position++];
+      delta |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    offsets[cursor] = position;
+    remaining[cursor]--;
+    current[cursor] += delta;
+  }
+
+  private static void siftDown(int[] heap, int size, int slot, int[] current) {
+    while (true) {
+      int smallest = slot;
+      int left = 2 * slot + 1;
+      if (left < size && current[heap[left]] < current[heap[smallest]]) {
+        smallest = left;
+      }
+      if (left + 1 < size && current[heap[left + 1]] < current[heap[smallest]]) {
+        smallest = left + 1;
+      }
+      if (smallest == slot) {
+        return;
+      }
+      int temp = heap[slot];
+      heap[slot] = heap[smallest];
+      heap[smallest] = temp;
+      slot = smallest;
+    }
+  }
+
+  // Distinct padded grams of word, each packed as q chars of CHAR_BITS bits
+  // (char + 1, so the boundary mark 0 never clashes with a real char).
+  private long[] grams(String word) {
+    if (word.isEmpty()) {
+      return new long[0];
+    }
+    int count = word.length() + this.q - 1;
+    long[] grams = new long[count];
+    int distinct = 0;
+    for (int start = -(this.q - 1); start < word.length(); start++) {
+      long gram = 0;
+      for (int i = start; i < start + this.q; i++) {
+        long ch = i >= 0 && i < word.length() ? word.charAt(i) + 1 : 0;
+        gram = (gram << CHAR_BITS) | ch;
+      }
+      boolean seen = false;
+      for (int i = 0; i < distinct && !seen; i++) {
+        seen = grams[i] == gram;
+      }
+      if (!seen) {
+        grams[distinct++] = gram;
+      }
+    }
+    if (distinct == count) {
+      return grams;
+    }
+    long[] trimmed = new long[distinct];
+    System.arraycopy(grams, 0, trimmed, 0, distinct);
+    return trimmed;
+  }
+
+  private int gramId(long gram) {
+    int slot = slotOf(this.gramKeys, gram, this.gramMask);
+    return this.gramKeys[slot] == 0 ? -1 : this.gramIds[slot];
+  }
+
+  private static int slotOf(long[] keys, long gram, int mask) {
+    long mixed = gram * 0x9E3779B97F4A7C15L;
+    int slot = (int) (mixed >>> 32) & mask;
+    while (keys[slot] != 0 && keys[slot] != gram) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+}
@@ -0,0 +1,299 @@
+package main.java.utils.features;
+
+import main.java.utils.ArrayList;
+import main.java.utils.ReadOnlySymbolTable;
+
+// Top-k spelling suggestions under optimal string alignment distance
+// (Levenshtein plus transpositions of adjacent characters). Words are grouped
+// by length, and only lengths within the distance limit of the query are
+// scanned, same length first. Each distance is computed inside a diagonal
+// band and abandoned as soon as a whole row exceeds the current cutoff, and
+// before that a 64-bit letter-set signature rules out most words: one edit
+// changes at most two bits of the signature. The
+// best k candidates are kept in a bounded heap ranked by distance, then by
+// frequency (when given), then by scan order; once the heap is full the
+// cutoff drops to what a new candidate would have to beat, and without
+// frequencies the scan stops as soon as k candidates at distance 1 are found.
+public class RankedSuggester {
+  private final String[] words;
+  private final long[] signatures;
+  private final int[] lengthStarts;
+  private final ReadOnlySymbolTable<String, Integer> frequencies;
+
+  public RankedSuggester(ReadOnlySymbolTable<String, ?> dictionary) {
+    this(dictionary, null);
+  }
+
+  // frequencies may be null; words missing from it count as frequency 0.
+  public RankedSuggester(ReadOnlySymbolTable<String, ?> dictionary, ReadOnlySymbolTable<String, Integer> frequencies) {
+    this.frequencies = frequencies;
+
+    // Counting sort by length; within a length, words keep table order.
+    int maxLength = 0;
+    String[] keys = dictionary.getKeys();
+    for (String key : keys) {
+      maxLength = Math.max(maxLength, key.length());
+    }
+    this.lengthStarts = new int[maxLength + 2];
+    for (String key : keys) {
+      this.lengthStarts[key.length() + 1]++;
+    }
+    for (int length = 1; length < this.lengthStarts.length; length++) {
+      this.lengthStarts[length] += this.lengthStarts[length - 1];
+    }
+    this.words = new String[keys.length];
+    this.signatures = new long[keys.length];
+    int[] next = new int[maxLength + 1];
+    for (String key : keys) {
+      int length = key.length();
+      int slot = this.lengthStarts[length] + next[length]++;
+      this.words[slot] = key;
+      this.signatures[slot] = signature(key);
+    }
+  }
+
+  // Up to k words within maxDistance of word (the word itself excluded),
+  // best first.
+  public ArrayList<String> suggest(String word, int k, int maxDistance) {
+    ArrayList<String> suggestions = new ArrayList<>();
+    if (k <= 0 || maxDistance <= 0) {
+      return suggestions;
+    }
+
+    Heap heap = new Heap(k);
+    int cutoff = maxDistance;
+    int[][] rows = new int[3][word.length() + 1];
+    long signature = signature(word);
+    int order = 0;
+
+    // Length offsets 0, -1, +1, -2, +2, ...: closer lengths can reach
+    // smaller distances, so the cutoff tightens early.
+    for (int step = 0; step <= 2 * maxDistance; step++) {
+      int offset = (step + 1) / 2 * (step % 2 == 0 ? 1 : -1);
+      if (Math.abs(offset) > cutoff) {
+        continue;
+      }
+      int length = word.length() + offset;
+      if (length < 0 || length + 1 >= this.lengthStarts.length) {
+        continue;
+      }
+
+      for (int i = this.lengthStarts[length]; i < this.lengthStarts[length + 1]; i++) {
+        if (Long.bitCount(signature ^ this.signatures[i]) > 2 * cutoff) {
+          continue;
+        }
+        String candidate = this.words[i];
+        int distance = distance(word, candidate, cutoff, rows);
+        if (distance == 0 || distance > cutoff) {
+          continue;
+        }
+        heap.offer(candidate, distance, frequencyOf(candidate), order++);
+
+        if (heap.isFull()) {
+          if (this.frequencies == null) {
+            // Ties go to the earlier candidate, so only a smaller distance
+            // could still replace the worst entry.
+            cutoff = heap.worstDistance() - 1;
+            if (cutoff < 1) {
+              return heap.drain(suggestions);
+            }
+          } else {
+            cutoff = heap.worstDistance();
+          }
+          if (Math.abs(offset) > cutoff) {
+            break;
+          }
+        }
+      }
+    }
+    return heap.drain(suggestions);
+  }
+
+  public int size() {
+    return this.words.length;
+  }
+
+  private int frequencyOf(String word) {
+    if (this.frequencies == null) {
+      return 0;
+    }
+    Integer frequency = this.frequencies.get(word);
+    return frequency != null ? frequency : 0;
+  }
+
+  // Set of the chars in word, folded into 64 bits.
+  private static long signature(String word) {
+    long signature = 0;
+    for (int i = 0; i < word.length(); i++) {
+      signature |= 1L << word.charAt(i);
+    }
+    return signature;
+  }
+
+  // Optimal string alignment distance between a and b, or limit + 1 once it
+  // is certain to exceed limit. Only cells with |i - j| <= limit can stay
+  // within the limit, so each row is computed over that band alone.
+  static int distance(String a, String b, int limit, int[][] rows) {
+    int n = a.length();
+    int m = b.length();
+    if (Math.abs(n - m) > limit) {
+      return limit + 1;
+    }
+    int outside = limit + 1;
+    if (rows[0].length < n + 1) {
+      rows = new int[3][n + 1];
+    }
+    int[] beforePrevious = rows[0];
+    int[] previous = rows[1];
+    int[] current = rows[2];
+
+    for (int i = 0; i <= n; i++) {
+      previous[i] = i <= limit ? i : outside;
+    }
+
+    for (int j = 1; j <= m; j++) {
+      char bj = b.charAt(j - 1);
+      int from = Math.max(1, j - limit);
+      int to = Math.min(n, j + limit);
+      current[0] = j <= limit ? j : outside;
+      if (from > 1) {
+        current[from - 1] = outside;
+      }
+      int rowMin = current[0];
+
+      for (int i = from; i <= to; i++) {
+        char ai = a.charAt(i - 1);
+        int cost = ai == bj ? 0 : 1;
+        int value = Math.min(previous[i - 1] + cost, Math.min(previous[i] + 1, current[i - 1] + 1));
+        if (i > 1 && j > 1 && ai == b.charAt(j - 2) && a.charAt(i - 2) == bj) {
+          value = Math.min(value, beforePrevious[i - 2] + 1);
+        }
+        current[i] = Math.min(value, outside);
+        rowMin = Math.min(rowMin, current[i]);
+      }
+      if (to < n) {
+        current[to + 1] = outside;
+      }
+      if (rowMin > limit) {
+        return outside;
+      }
+
+      int[] recycled = beforePrevious;
+      beforePrevious = previous;
+      previous = current;
+      current = recycled;
+    }
+    return Math.min(previous[n], outside);
+  }
+
+  // Binary heap of at most capacity candidates with the worst at the root.
+  private static final class Heap {
+    private final String[] words;
+    private final int[] distances;
+    private final int[] frequencies;
+    private final int[] orders;
+    private int size;
+
+    private Heap(int capacity) {
+      this.words = new String[capacity];
+      this.distances = new int[capacity];
+      this.frequencies = new int[capacity];
+      this.orders = new int[capacity];
+    }
+
+    private boolean isFull() {
+      return this.size == this.words.length;
+    }
+
+    private int worstDistance() {
+      return this.distances[0];
+    }
+
+    private void offer(String word, int distance, int frequency, int order) {
+      if (isFull()) {
+        if (!better(distance, frequency, order, 0)) {
+          return;
+        }
+        set(0, word, distance, frequency, order);
+        siftDown(0);
+        return;
+      }
+      set(this.size, word, distance, frequency, order);
+      siftUp(this.size++);
+    }
+
+    // Empties the heap into suggestions, best candidate first.
+    private ArrayList<String> drain(ArrayList<String> suggestions) {
+      String[] sorted = new String[this.size];
+      while (this.size > 0) {
+        sorted[this.size - 1] = this.words[0];
+        this.size--;
+        if (this.size > 0) {
+          move(this.size, 0);
+          siftDown(0);
+        }
+      }
+      for (String word : sorted) {
+        suggestions.add(word);
+      }
+      return suggestions;
+    }
+
+    private boolean better(int distance, int frequency, int order, int slot) {
+      if (distance != this.distances[slot]) {
+        return distance < this.distances[slot];
+      }
+      if (frequency != this.frequencies[slot]) {
+        return frequency > this.frequencies[slot];
+      }
+      return order < this.orders[slot];
+    }
+
+    private void siftUp(int slot) {
+      while (slot > 0) {
+        int parent = (slot - 1) / 2;
+        if (!better(this.distances[parent], this.frequencies[parent], this.orders[parent], slot)) {
+          return;
+        }
+        swap(slot, parent);
+        slot = parent;
+      }
+    }
+
+    private void siftDown(int slot) {
+      while (true) {
+        int worst = slot;
+        for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < this.size; child++) {
+          if (better(this.distances[worst], this.frequencies[worst], this.orders[worst], child)) {
+            worst = child;
+          }
+        }
+        if (worst == slot) {
+          return;
+        }
+        swap(slot, worst);
+        slot = worst;
+      }
+    }
+
+    private void set(int slot, String word, int distance, int frequency, int order) {
+      this.words[slot] = word;
+      this.distances[slot] = distance;
+      this.frequencies[slot] = frequency;
+      this.orders[slot] = order;
+    }
+
+    private void move(int from, int to) {
+      set(to, this.words[from], this.distances[from], this.frequencies[from], this.orders[from]);
+    }
+
+    private void swap(int a, int b) {
+      String word = this.words[a];
+      int distance = this.distances[a];
+      int frequency = this.frequencies[a];
+      int order = this.orders[a];
+      move(b, a);
+      set(b, word, distance, frequency, order);
+    }
+  }
+}
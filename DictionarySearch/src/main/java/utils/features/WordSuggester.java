@@ -1,72 +1,223 @@
 package main.java.utils.features;
 
+import main.java.search.RadixTree;
 import main.java.utils.ArrayList;
-import main.java.utils.HashTable;
+import main.java.utils.LruCache;
+import main.java.utils.PackedKeyStore;
+import main.java.utils.ReadOnlySymbolTable;
 
 public class WordSuggester {
-  private HashTable<String, String> dictionary;
+  private static final int DEFAULT_CACHE_SIZE = 256;
 
-  public WordSuggester(HashTable<String, String> dictionary) {
+  private ReadOnlySymbolTable<String, String> dictionary;
+  private RadixTree prefixIndex;
+  private PackedKeyStore keyStore;
+  private BKTree fuzzyIndex;
+  private RankedSuggester rankedIndex;
+  private QGramIndex gramIndex;
+  private PhoneticIndex phoneticIndex;
+  private LruCache<String, ArrayList<String>> cache;
+  private LruCache<String, ArrayList<String>> rankedCache;
+
+  public WordSuggester(ReadOnlySymbolTable<String, String> dictionary) {
+    this(dictionary, new RadixTree(dictionary));
+  }
+
+  public WordSuggester(ReadOnlySymbolTable<String, String> dictionary, RadixTree prefixIndex) {
+    this(dictionary, prefixIndex, null);
+  }
+
+  public WordSuggester(ReadOnlySymbolTable<String, String> dictionary, RadixTree prefixIndex, BKTree fuzzyIndex) {
+    this(dictionary, prefixIndex, fuzzyIndex, DEFAULT_CACHE_SIZE);
+  }
+
+  // Completions come from the sorted prefix range of the packed keys instead
+  // of a radix tree; only the words returned are decoded.
+  public WordSuggester(ReadOnlySymbolTable<String, String> dictionary, PackedKeyStore keyStore) {
+    this(dictionary, null, null);
+    this.keyStore = keyStore;
+  }
+
+  // Up to cacheSize suggestion lists are kept for repeated queries (0 turns
+  // the cache off). A null fuzzyIndex is built on first use.
+  public WordSuggester(ReadOnlySymbolTable<String, String> dictionary, RadixTree prefixIndex, BKTree fuzzyIndex,
+      int cacheSize) {
     this.dictionary = dictionary;
+    this.prefixIndex = prefixIndex;
+    this.fuzzyIndex = fuzzyIndex;
+    this.cache = new LruCache<>(cacheSize);
+    this.rankedCache = new LruCache<>(cacheSize);
   }
 
+  // Repeated queries get the cached list back, so callers must not modify
+  // the result.
   public ArrayList<String> suggest(String word) {
+    ArrayList<String> cached = cache.get(word);
+    if (cached != null) {
+      return cached;
+    }
+    ArrayList<String> suggestions = computeSuggestions(word);
+    cache.put(word, suggestions);
+    return suggestions;
+  }
+
+  // Up to k words within maxDistance insertions, deletions, substitutions or
+  // adjacent transpositions of word, closest first. Like suggest(), the
+  // result may be shared with later calls.
+  public ArrayList<String> suggestRanked(String word, int k, int maxDistance) {
+    String key = k + " " + maxDistance + " " + word;
+    ArrayList<String> cached = rankedCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    ArrayList<String> suggestions = rankedIndex().suggest(word, k, maxDistance);
+    rankedCache.put(key, suggestions);
+    return suggestions;
+  }
+
+  // Must be called when the dictionary behind the indexes changes.
+  public void invalidateCache() {
+    cache.clear();
+    rankedCache.clear();
+  }
+
+  public LruCache<String, ArrayList<String>> getCache() {
+    return cache;
+  }
+
+  private ArrayList<String> computeSuggestions(String word) {
     int wordLength = word.length();
     ArrayList<String> suggestions = new ArrayList<>();
-    String[] keys = dictionary.getKeys();
-
-    for (String key : keys) {
-      if (key.length() == wordLength) {
-        int differences = 0;
-        for (int i = 0; i < wordLength; i++) {
-          if (word.charAt(i) != key.charAt(i)) {
-            differences++;
-            if (differences > 1) {
-              break;
-            }
-          }
-        }
-        if (differences == 1) {
-          suggestions.add(key);
-        }
 
-      } else if (key.length() > wordLength) {
-        if (key.startsWith(word)) {
-          suggestions.add(key);
-        }
-      } else {
-        continue;
+    // Same-length words at edit distance 1 differ in exactly one character.
+    ArrayList<String> nearby = fuzzyIndex().withinDistance(word, 1);
+    for (int i = 0; i < nearby.size(); i++) {
+      String key = nearby.get(i);
+      if (key.length() == wordLength && !key.equals(word)) {
+        suggestions.add(key);
       }
     }
+
+    // Longer words that start with the query.
+    ArrayList<String> completions = longerCompletions(word, Integer.MAX_VALUE);
+    for (int i = 0; i < completions.size(); i++) {
+      suggestions.add(completions.get(i));
+    }
     return suggestions;
   }
 
+  // Up to limit dictionary words that start with prefix, in alphabetical order.
+  public ArrayList<String> complete(String prefix, int limit) {
+    if (keyStore == null) {
+      return prefixIndex.prefix(prefix, limit);
+    }
+    ArrayList<String> completions = new ArrayList<>();
+    int start = keyStore.prefixStart(prefix);
+    int end = (int) Math.min(keyStore.prefixEnd(prefix), (long) start + limit);
+    for (int i = start; i < end; i++) {
+      completions.add(keyStore.getKey(i));
+    }
+    return completions;
+  }
+
   public boolean hasSuggestions(String word) {
     int wordLength = word.length();
-    String[] keys = dictionary.getKeys();
-    for (String key : keys) {
-      if (key.length() == wordLength) {
-        int differences = 0;
-        for (int i = 0; i < wordLength; i++) {
-          if (word.charAt(i) != key.charAt(i)) {
-            differences++;
-            if (differences > 1) {
-              break;
-            }
-          }
-        }
-        if (differences == 1) {
-          return true;
-        }
+    if (!longerCompletions(word, 1).isEmpty()) {
+      return true;
+    }
 
-      } else if (key.length() > wordLength) {
-        if (key.startsWith(word)) {
-          return true;
-        }
-      } else {
-        continue;
+    ArrayList<String> nearby = fuzzyIndex().withinDistance(word, 1);
+    for (int i = 0; i < nearby.size(); i++) {
+      String key = nearby.get(i);
+      if (key.length() == wordLength && !key.equals(word)) {
+        return true;
       }
     }
     return false;
   }
+
+  // Up to limit words that start with word and are longer than it, in
+  // alphabetical order.
+  private ArrayList<String> longerCompletions(String word, int limit) {
+    ArrayList<String> completions = new ArrayList<>();
+    if (keyStore == null) {
+      ArrayList<String> prefixed = prefixIndex.prefix(word, limit == Integer.MAX_VALUE ? limit : limit + 1);
+      for (int i = 0; i < prefixed.size() && completions.size() < limit; i++) {
+        if (prefixed.get(i).length() > word.length()) {
+          completions.add(prefixed.get(i));
+        }
+      }
+      return completions;
+    }
+
+    // The word itself sorts first in its prefix range; every other key there
+    // is longer. Both checks compare against the packed bytes.
+    int start = keyStore.prefixStart(word);
+    int end = keyStore.prefixEnd(word);
+    if (start < end && keyStore.compare(start, word) == 0) {
+      start++;
+    }
+    for (int i = start; i < end && completions.size() < limit; i++) {
+      completions.add(keyStore.getKey(i));
+    }
+    return completions;
+  }
+
+  // All dictionary words within maxDistance edits (insertions, deletions or
+  // substitutions) of word, found through the BK-tree.
+  public ArrayList<String> suggestWithinDistance(String word, int maxDistance) {
+    return fuzzyIndex().withinDistance(word, maxDistance);
+  }
+
+  // Words within maxDistance edits of word, counting adjacent transpositions
+  // as one edit, in alphabetical order. Candidates come from the q-gram
+  // index, which stays selective for larger distances on longer words.
+  public ArrayList<String> suggestByGrams(String word, int maxDistance) {
+    return gramIndex().withinDistance(word, maxDistance);
+  }
+
+  // Up to limit words that sound like word (same Metaphone code), in
+  // alphabetical order. These can be far apart in spelling, e.g. "fonetik"
+  // finds "phonetic".
+  public ArrayList<String> suggestSoundAlike(String word, int limit) {
+    // One extra word, in case word itself is among the first ones.
+    ArrayList<String> bucket = phoneticIndex().soundsLike(word, limit < Integer.MAX_VALUE ? limit + 1 : limit);
+    ArrayList<String> suggestions = new ArrayList<>();
+    for (int i = 0; i < bucket.size() && suggestions.size() < limit; i++) {
+      if (!bucket.get(i).equals(word)) {
+        suggestions.add(bucket.get(i));
+      }
+    }
+    return suggestions;
+  }
+
+  // The BK-tree, ranked, q-gram and phonetic indexes are built on first use,
+  // so a suggester only pays for the kinds of suggestions it is asked for.
+  private BKTree fuzzyIndex() {
+    if (fuzzyIndex == null) {
+      fuzzyIndex = new BKTree(dictionary);
+    }
+    return fuzzyIndex;
+  }
+
+  private RankedSuggester rankedIndex() {
+    if (rankedIndex == null) {
+      rankedIndex = new RankedSuggester(dictionary);
+    }
+    return rankedIndex;
+  }
+
+  private QGramIndex gramIndex() {
+    if (gramIndex == null) {
+      gramIndex = new QGramIndex(dictionary);
+    }
+    return gramIndex;
+  }
+
+  private PhoneticIndex phoneticIndex() {
+    if (phoneticIndex == null) {
+      phoneticIndex = new PhoneticIndex(dictionary);
+    }
+    return phoneticIndex;
+  }
 }
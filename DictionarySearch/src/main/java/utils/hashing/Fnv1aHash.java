@@ -0,0 +1,24 @@
+package main.java.utils.hashing;
+
+public class Fnv1aHash implements HashFunction {
+  private static final int OFFSET_BASIS = 0x811C9DC5;
+  private static final int PRIME = 0x01000193;
+
+  @Override
+  public int hash(String key) {
+    int hash = OFFSET_BASIS;
+    for (int i = 0; i < key.length(); i++) {
+      char ch = key.charAt(i);
+      hash ^= ch & 0xFF;
+      hash *= PRIME;
+      hash ^= ch >>> 8;
+      hash *= PRIME;
+    }
+    return hash;
+  }
+
+  @Override
+  public String getName() {
+    return "FNV-1a";
+  }
+}
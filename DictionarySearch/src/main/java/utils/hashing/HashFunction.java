@@ -0,0 +1,7 @@
+package main.java.utils.hashing;
+
+public interface HashFunction {
+  int hash(String key);
+
+  String getName();
+}
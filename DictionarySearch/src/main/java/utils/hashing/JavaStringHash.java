@@ -0,0 +1,17 @@
+package main.java.utils.hashing;
+
+// String.hashCode() is cached inside each String, so repeated lookups of the
+// same key object never walk its characters again. The high bits are folded
+// into the low bits because tables mask with (capacity - 1).
+public class JavaStringHash implements HashFunction {
+  @Override
+  public int hash(String key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public String getName() {
+    return "String.hashCode";
+  }
+}
@@ -0,0 +1,23 @@
+package main.java.utils.hashing;
+
+// The original course hash: a base-31 polynomial reduced modulo a prime on
+// every character. Its range is capped at M values, so it is kept only as a
+// baseline for comparing distributions.
+public class PolynomialHash implements HashFunction {
+  private static final long M = 100_003L;
+
+  @Override
+  public int hash(String key) {
+    long hash = 0L;
+    for (int i = 0; i < key.length(); i++) {
+      int wi = key.charAt(i);
+      hash = (hash * 31 + wi) % M;
+    }
+    return (int) hash;
+  }
+
+  @Override
+  public String getName() {
+    return "Polynomial mod 100003";
+  }
+}
@@ -0,0 +1,45 @@
+package main.java.utils.hashing;
+
+// wyhash-style hash: four UTF-16 chars are packed into one 64-bit block and
+// folded in with a 128-bit multiply-xor mix, so long keys take a quarter of
+// the rounds of a per-character hash.
+public class WyMixHash implements HashFunction {
+  private static final long SEED = 0xA0761D6478BD642FL;
+  private static final long P1 = 0xE7037ED1A0B428DBL;
+  private static final long P2 = 0x8EBC6AF09C88C6E3L;
+
+  @Override
+  public int hash(String key) {
+    int length = key.length();
+    long hash = SEED ^ length;
+    int i = 0;
+
+    for (; i + 4 <= length; i += 4) {
+      long block = (long) key.charAt(i)
+          | (long) key.charAt(i + 1) << 16
+          | (long) key.charAt(i + 2) << 32
+          | (long) key.charAt(i + 3) << 48;
+      hash = mix(hash ^ block, P1);
+    }
+
+    if (i < length) {
+      long block = 0L;
+      for (int shift = 0; i < length; i++, shift += 16) {
+        block |= (long) key.charAt(i) << shift;
+      }
+      hash = mix(hash ^ block, P1);
+    }
+
+    hash = mix(hash, P2);
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private static long mix(long a, long b) {
+    return Math.multiplyHigh(a, b) ^ (a * b);
+  }
+
+  @Override
+  public String getName() {
+    return "wyhash-style mix";
+  }
+}
@@ -0,0 +1,214 @@
+package main.java.utils.phonetic;
+
+// Original Metaphone (Lawrence Philips, 1990). Vowels are dropped except at
+// the start, and consonants map to 16 sound classes by their context, e.g.
+// PH -> F, C before E/I/Y -> S, TH -> 0, so "phonetic" and "fonetik" both
+// encode to FNTK. Non-letters are ignored. Codes are cut at maxLength chars
+// (0 for no limit).
+public class Metaphone implements PhoneticEncoder {
+  public static final int DEFAULT_MAX_LENGTH = 6;
+
+  private final int maxLength;
+
+  public Metaphone() {
+    this(DEFAULT_MAX_LENGTH);
+  }
+
+  public Metaphone(int maxLength) {
+    if (maxLength < 0) {
+      throw new IllegalArgumentException("Maximum code length must not be negative");
+    }
+    this.maxLength = maxLength;
+  }
+
+  @Override
+  public String encode(String word) {
+    char[] w = letters(word);
+    int n = w.length;
+    int limit = this.maxLength == 0 ? Integer.MAX_VALUE : this.maxLength;
+    StringBuilder code = new StringBuilder();
+    if (n == 0) {
+      return "";
+    }
+
+    int i = 0;
+    // Initial letter exceptions.
+    if (n > 1) {
+      char first = w[0];
+      char second = w[1];
+      if ((first == 'A' && second == 'E') || (first == 'G' && second == 'N') || (first == 'K' && second == 'N')
+          || (first == 'P' && second == 'N') || (first == 'W' && second == 'R')) {
+        i = 1;
+      } else if (first == 'W' && second == 'H') {
+        code.append('W');
+        i = 2;
+      }
+    }
+    if (i == 0 && w[0] == 'X') {
+      code.append('S');
+      i = 1;
+    }
+    if (i < n && isVowel(w[i]) && code.length() == 0) {
+      code.append(w[i]);
+      i++;
+    }
+
+    for (; i < n && code.length() < limit; i++) {
+      char c = w[i];
+      // Doubled letters sound once, except CC (as in "accent").
+      if (c != 'C' && i > 0 && w[i - 1] == c) {
+        continue;
+      }
+      char next = at(w, i + 1);
+      char afterNext = at(w, i + 2);
+      char previous = at(w, i - 1);
+
+      switch (c) {
+        case 'B':
+          // Silent in a final MB ("dumb").
+          if (!(previous == 'M' && i == n - 1)) {
+            code.append('B');
+          }
+          break;
+        case 'C':
+          if (next == 'I' && afterNext == 'A') {
+            code.append('X');
+          } else if (next == 'H') {
+            code.append(previous == 'S' ? 'K' : 'X');
+            i++;
+          } else if (next == 'I' || next == 'E' || next == 'Y') {
+            // Silent in SCI, SCE and SCY.
+            if (previous != 'S') {
+              code.append('S');
+            }
+          } else {
+            code.append('K');
+          }
+          break;
+        case 'D':
+          if (next == 'G' && (afterNext == 'E' || afterNext == 'Y' || afterNext == 'I')) {
+            code.append('J');
+            i++;
+          } else {
+            code.append('T');
+          }
+          break;
+        case 'G':
+          if (next == 'H' && !(i + 2 >= n || isVowel(afterNext))) {
+            // Silent in GH before a consonant ("night").
+            break;
+          }
+          if (next == 'N' && (i + 2 == n || (i + 4 == n && afterNext == 'E' && at(w, i + 3) == 'D'))) {
+            // Silent in a final GN or GNED ("sign", "signed").
+            break;
+          }
+          if ((next == 'I' || next == 'E' || next == 'Y') && previous != 'G') {
+            code.append('J');
+          } else {
+            code.append('K');
+          }
+          break;
+        case 'H':
+          // Silent after a vowel with no vowel following, and after C, S,
+          // P, T and G, which already encoded the digraph.
+          if (isVowel(next) && "CSPTG".indexOf(previous) < 0) {
+            code.append('H');
+          }
+          break;
+        case 'K':
+          if (previous != 'C') {
+            code.append('K');
+          }
+          break;
+        case 'P':
+          if (next == 'H') {
+            code.append('F');
+            i++;
+          } else {
+            code.append('P');
+          }
+          break;
+        case 'Q':
+          code.append('K');
+          break;
+        case 'S':
+          if (next == 'H') {
+            code.append('X');
+            i++;
+          } else if (next == 'I' && (afterNext == 'O' || afterNext == 'A')) {
+            code.append('X');
+          } else {
+            code.append('S');
+          }
+          break;
+        case 'T':
+          if (next == 'I' && (afterNext == 'O' || afterNext == 'A')) {
+            code.append('X');
+          } else if (next == 'H') {
+            code.append('0');
+            i++;
+          } else if (!(next == 'C' && afterNext == 'H')) {
+            code.append('T');
+          }
+          break;
+        case 'V':
+          code.append('F');
+          break;
+        case 'W':
+        case 'Y':
+          if (isVowel(next)) {
+            code.append(c);
+          }
+          break;
+        case 'X':
+          code.append('K');
+          if (code.length() < limit) {
+            code.append('S');
+          }
+          break;
+        case 'Z':
+          code.append('S');
+          break;
+        case 'F':
+        case 'J':
+        case 'L':
+        case 'M':
+        case 'N':
+        case 'R':
+          code.append(c);
+          break;
+        default:
+          // Vowels after the first letter are dropped.
+          break;
+      }
+    }
+    return code.toString();
+  }
+
+  @Override
+  public String getName() {
+    return "Metaphone";
+  }
+
+  private static char[] letters(String word) {
+    char[] buffer = new char[word.length()];
+    int length = 0;
+    for (int i = 0; i < word.length(); i++) {
+      char letter = Character.toUpperCase(word.charAt(i));
+      if (letter >= 'A' && letter <= 'Z') {
+        buffer[length++] = letter;
+      }
+    }
+    char[] letters = new char[length];
+    System.arraycopy(buffer, 0, letters, 0, length);
+    return letters;
+  }
+
+  private static char at(char[] w, int i) {
+    return i >= 0 && i < w.length ? w[i] : 0;
+  }
+
+  private static boolean isVowel(char c) {
+    return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U';
+  }
+}
@@ -0,0 +1,9 @@
+package main.java.utils.phonetic;
+
+// Maps a word to a code shared by words that sound alike. Implementations
+// must be stateless, since indexes encode keys from several threads.
+public interface PhoneticEncoder {
+  String encode(String word);
+
+  String getName();
+}
@@ -0,0 +1,44 @@
+package main.java.utils.phonetic;
+
+// American Soundex: the first letter followed by three digits for the
+// consonant groups that follow. Letters with the same digit next to each
+// other (or separated only by H or W) count once, and vowels separate them.
+// Non-letters are ignored; a word without letters encodes to "".
+public class Soundex implements PhoneticEncoder {
+  //                                     ABCDEFGHIJKLMNOPQRSTUVWXYZ
+  private static final String DIGITS = "01230120022455012623010202";
+
+  @Override
+  public String encode(String word) {
+    char[] code = new char[4];
+    int length = 0;
+    char previous = 0;
+    for (int i = 0; i < word.length() && length < 4; i++) {
+      char letter = Character.toUpperCase(word.charAt(i));
+      if (letter < 'A' || letter > 'Z') {
+        continue;
+      }
+      char digit = DIGITS.charAt(letter - 'A');
+      if (length == 0) {
+        code[length++] = letter;
+      } else if (digit != '0' && digit != previous) {
+        code[length++] = digit;
+      }
+      if (letter != 'H' && letter != 'W') {
+        previous = digit;
+      }
+    }
+    if (length == 0) {
+      return "";
+    }
+    while (length < 4) {
+      code[length++] = '0';
+    }
+    return new String(code);
+  }
+
+  @Override
+  public String getName() {
+    return "Soundex";
+  }
+}